@@ -0,0 +1,97 @@
+package me.hugmanrique.annotated.agent;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.bytecode.AnnotationRuleProvider;
+import me.hugmanrique.annotated.bytecode.AnnotationRules;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Java agent that applies the registered {@link AnnotationRules} to class files at load time.
+ * Rule providers are discovered with {@link ServiceLoader}, and can also be passed as a
+ * comma-separated list of class names in the agent arguments:
+ * <pre>
+ * -javaagent:annotated-agent.jar=com.example.FooRules,com.example.BarRules
+ * </pre>
+ * Classes loaded before the agent starts, including the ones loaded by the rule providers,
+ * are retransformed.
+ *
+ * @author agent
+ */
+public final class AnnotatedAgent {
+    private AnnotatedAgent() {}
+
+    public static void premain(String arguments, Instrumentation instrumentation) {
+        install(arguments, instrumentation);
+    }
+
+    public static void agentmain(String arguments, Instrumentation instrumentation) {
+        install(arguments, instrumentation);
+    }
+
+    private static void install(String arguments, Instrumentation instrumentation) {
+        try {
+            Annotated.installInstrumentation(instrumentation);
+        } catch (UnsupportedOperationException | IllegalStateException e) {
+            // Java 8 doesn't need to open any module, or the application already picked a backend
+        }
+
+        AnnotationRules rules = new AnnotationRules();
+
+        for (AnnotationRuleProvider provider : loadProviders(arguments)) {
+            provider.registerRules(rules);
+        }
+
+        instrumentation.addTransformer(new AnnotationRulesTransformer(rules), true);
+        retransformLoadedClasses(rules, instrumentation);
+    }
+
+    private static List<AnnotationRuleProvider> loadProviders(String arguments) {
+        ClassLoader loader = ClassLoader.getSystemClassLoader();
+        List<AnnotationRuleProvider> providers = new ArrayList<>();
+
+        for (AnnotationRuleProvider provider : ServiceLoader.load(AnnotationRuleProvider.class, loader)) {
+            providers.add(provider);
+        }
+
+        if (arguments == null || arguments.trim().isEmpty()) {
+            return providers;
+        }
+
+        for (String className : arguments.split(",")) {
+            try {
+                Class<?> providerClass = Class.forName(className.trim(), true, loader);
+
+                providers.add(providerClass.asSubclass(AnnotationRuleProvider.class).getConstructor().newInstance());
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalArgumentException("Cannot create rule provider " + className, e);
+            }
+        }
+
+        return providers;
+    }
+
+    private static void retransformLoadedClasses(AnnotationRules rules, Instrumentation instrumentation) {
+        List<Class<?>> loadedClasses = new ArrayList<>();
+
+        for (Class<?> clazz : instrumentation.getAllLoadedClasses()) {
+            if (rules.get(clazz.getName()) != null && instrumentation.isModifiableClass(clazz)) {
+                loadedClasses.add(clazz);
+            }
+        }
+
+        if (loadedClasses.isEmpty()) {
+            return;
+        }
+
+        try {
+            instrumentation.retransformClasses(loadedClasses.toArray(new Class<?>[0]));
+        } catch (UnmodifiableClassException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package me.hugmanrique.annotated.agent;
+
+import me.hugmanrique.annotated.bytecode.AnnotationRules;
+import me.hugmanrique.annotated.bytecode.ClassFileRewriter;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+
+/**
+ * Rewrites the annotations of the classes with registered rules as they are loaded or retransformed.
+ *
+ * @author agent
+ */
+final class AnnotationRulesTransformer implements ClassFileTransformer {
+    private final AnnotationRules rules;
+    private final ClassFileRewriter rewriter;
+
+    AnnotationRulesTransformer(AnnotationRules rules) {
+        this.rules = rules;
+        this.rewriter = new ClassFileRewriter(rules);
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classFileBuffer) {
+        // Quick check before parsing, className is the internal name
+        if (className == null || rules.get(className.replace('/', '.')) == null) {
+            return null;
+        }
+
+        try {
+            return rewriter.rewrite(classFileBuffer);
+        } catch (RuntimeException e) {
+            // The JVM silently ignores exceptions thrown by transformers
+            System.err.println("[Annotated] Cannot rewrite the annotations of " + className);
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read side of injected annotations: looking them up on
+ * elements that declare {@code count} other annotations, and invoking
+ * the element and {@link Object} methods of the created instances.
+ * The {@code declared} factory reads an annotation written in the source
+ * as a baseline.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessBenchmark {
+
+    @Param({ "declared", "proxy", "generated" })
+    public String factoryName;
+
+    @Param({ "0", "4", "16" })
+    public int count;
+
+    private Annotation[] annotations;
+    private Field field;
+    private Annotations.Values values;
+    private Annotations.Values otherValues;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        annotations = Annotations.create(count);
+        field = Target.class.getDeclaredField("value");
+        Annotations.Values declared = Declared.class.getAnnotation(Annotations.Values.class);
+
+        if (factoryName.equals("declared")) {
+            values = declared;
+        } else {
+            AnnotationFactory factory = Factories.byName(factoryName);
+            Map<String, Object> valuesMap = new HashMap<>();
+            valuesMap.put("number", declared.number());
+            valuesMap.put("name", declared.name());
+            valuesMap.put("tags", declared.tags());
+
+            values = factory.createAnnotation(Annotations.Values.class, valuesMap);
+        }
+
+        otherValues = Declared.class.getDeclaredField("value").getAnnotation(Annotations.Values.class);
+
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().addAnnotation(Target.class, annotation);
+            Annotated.field().addAnnotation(field, annotation);
+        }
+
+        Annotated.clazz().addAnnotation(Target.class, values);
+        Annotated.field().addAnnotation(field, values);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().removeAnnotation(Target.class, annotation.annotationType());
+            Annotated.field().removeAnnotation(field, annotation.annotationType());
+        }
+
+        Annotated.clazz().removeAnnotation(Target.class, Annotations.Values.class);
+        Annotated.field().removeAnnotation(field, Annotations.Values.class);
+    }
+
+    @Benchmark
+    public Object classLookup() {
+        return Target.class.getAnnotation(Annotations.Values.class);
+    }
+
+    @Benchmark
+    public Object fieldLookup() {
+        return field.getAnnotation(Annotations.Values.class);
+    }
+
+    @Benchmark
+    public int element() {
+        return values.number();
+    }
+
+    @Benchmark
+    public Object arrayElement() {
+        return values.tags();
+    }
+
+    @Benchmark
+    public int hashCodeAnnotation() {
+        return values.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsAnnotation() {
+        return values.equals(otherValues);
+    }
+
+    @Annotations.Values(number = 42, name = "benchmark", tags = { "first", "second" })
+    static class Declared {
+        @Annotations.Values(number = 42, name = "benchmark", tags = { "first", "second" })
+        int value;
+    }
+
+    static class Target {
+        int value;
+    }
+}
@@ -0,0 +1,141 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+
+/**
+ * Annotation types used to populate the benchmarked elements.
+ *
+ * @author agent
+ */
+public final class Annotations {
+    static final int MAX_COUNT = 16;
+
+    @SuppressWarnings("unchecked")
+    static final Class<? extends Annotation>[] TYPES = new Class[] {
+        A0.class, A1.class, A2.class, A3.class, A4.class, A5.class, A6.class, A7.class, A8.class, A9.class, A10.class, A11.class, A12.class, A13.class, A14.class, A15.class
+    };
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Edited {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Values {
+        int number();
+
+        String name();
+
+        String[] tags() default {};
+
+        Class<?> type() default Object.class;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A0 {
+        int value() default 0;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A1 {
+        int value() default 1;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A2 {
+        int value() default 2;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A3 {
+        int value() default 3;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A4 {
+        int value() default 4;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A5 {
+        int value() default 5;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A6 {
+        int value() default 6;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A7 {
+        int value() default 7;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A8 {
+        int value() default 8;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A9 {
+        int value() default 9;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A10 {
+        int value() default 10;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A11 {
+        int value() default 11;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A12 {
+        int value() default 12;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A13 {
+        int value() default 13;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A14 {
+        int value() default 14;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface A15 {
+        int value() default 15;
+    }
+
+    private Annotations() {}
+
+    /**
+     * Creates {@code count} proxy annotations of different types.
+     */
+    static Annotation[] create(int count) {
+        if (count > MAX_COUNT) {
+            throw new IllegalArgumentException("At most " + MAX_COUNT + " annotations are supported, got " + count);
+        }
+
+        Annotation[] annotations = new Annotation[count];
+
+        for (int i = 0; i < count; i++) {
+            annotations[i] = AnnotationFactory.proxy().createAnnotation(TYPES[i], Collections.emptyMap());
+        }
+
+        return annotations;
+    }
+
+    static Edited edited(String value) {
+        return AnnotationFactory.proxy().createAnnotation(Edited.class, Collections.singletonMap("value", value));
+    }
+}
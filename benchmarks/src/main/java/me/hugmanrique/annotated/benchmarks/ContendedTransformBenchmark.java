@@ -0,0 +1,121 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.Annotated;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures edits on a single class and field from many threads, which
+ * exercises the compare-and-set retry loops of the transformers.
+ * Each thread adds and removes its own annotation type.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContendedTransformBenchmark {
+    private static final int MAX_THREADS = 8;
+
+    @Param({ "0", "4" })
+    public int count;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private Annotation[] annotations;
+    private Field field;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        annotations = Annotations.create(count);
+        field = Target.class.getDeclaredField("value");
+
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().addAnnotation(Target.class, annotation);
+            Annotated.field().addAnnotation(field, annotation);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().removeAnnotation(Target.class, annotation.annotationType());
+            Annotated.field().removeAnnotation(field, annotation.annotationType());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Annotation annotation;
+
+        @Setup
+        public void setup(ContendedTransformBenchmark benchmark) {
+            int index = benchmark.threadCounter.getAndIncrement();
+
+            if (index >= MAX_THREADS) {
+                throw new IllegalStateException("At most " + MAX_THREADS + " threads are supported");
+            }
+
+            // Pick types from the end so they never clash with the declared annotations
+            Class<? extends Annotation> type = Annotations.TYPES[Annotations.MAX_COUNT - 1 - index];
+            annotation = Annotated.annotationFactory().createAnnotation(type, Collections.emptyMap());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object classEdit(ThreadState state) {
+        Annotated.clazz().addAnnotation(Target.class, state.annotation);
+        return Annotated.clazz().removeAnnotation(Target.class, state.annotation.annotationType());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object fieldEdit(ThreadState state) {
+        Annotated.field().addAnnotation(field, state.annotation);
+        return Annotated.field().removeAnnotation(field, state.annotation.annotationType());
+    }
+
+    /**
+     * Measures lookups while another thread keeps editing the class.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Object read() {
+        return Target.class.getAnnotation(Annotations.Edited.class);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Object write(ThreadState state) {
+        Annotated.clazz().addAnnotation(Target.class, state.annotation);
+        return Annotated.clazz().removeAnnotation(Target.class, state.annotation.annotationType());
+    }
+
+    static class Target {
+        int value;
+    }
+}
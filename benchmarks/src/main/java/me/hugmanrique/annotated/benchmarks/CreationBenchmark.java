@@ -0,0 +1,62 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of annotations from their elements map.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreationBenchmark {
+
+    @Param({ "proxy", "generated", "interning" })
+    public String factoryName;
+
+    private AnnotationFactory factory;
+    private Map<String, Object> valuesMap;
+    private Map<String, Object> editedMap;
+
+    @Setup
+    public void setup() {
+        factory = Factories.byName(factoryName);
+
+        valuesMap = new HashMap<>();
+        valuesMap.put("number", 42);
+        valuesMap.put("name", "benchmark");
+        valuesMap.put("tags", new String[] { "first", "second" });
+
+        editedMap = Collections.singletonMap("value", "benchmark");
+    }
+
+    @Benchmark
+    public Object createSingleElement() {
+        return factory.createAnnotation(Annotations.Edited.class, editedMap);
+    }
+
+    @Benchmark
+    public Object createWithDefaults() {
+        return factory.createAnnotation(Annotations.Values.class, valuesMap);
+    }
+}
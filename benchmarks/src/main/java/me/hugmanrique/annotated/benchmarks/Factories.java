@@ -0,0 +1,27 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+
+/**
+ * Resolves the annotation factory benchmark parameters.
+ *
+ * @author agent
+ */
+final class Factories {
+    private static final int INTERNING_SIZE = 64;
+
+    private Factories() {}
+
+    static AnnotationFactory byName(String name) {
+        switch (name) {
+            case "proxy":
+                return AnnotationFactory.proxy();
+            case "generated":
+                return AnnotationFactory.generated();
+            case "interning":
+                return AnnotationFactory.interning(AnnotationFactory.proxy(), INTERNING_SIZE);
+            default:
+                throw new IllegalArgumentException("Unknown annotation factory " + name);
+        }
+    }
+}
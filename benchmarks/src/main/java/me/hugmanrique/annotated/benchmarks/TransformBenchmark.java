@@ -0,0 +1,140 @@
+package me.hugmanrique.annotated.benchmarks;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.transformer.AnnotationEdit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single and batch edits on a class, field and method that already
+ * declare {@code count} annotations. Every invocation adds an annotation and
+ * removes it again, so the element returns to its initial state.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({ "0", "1", "4", "16" })
+    public int count;
+
+    private Annotation[] annotations;
+    private Annotations.Edited edited;
+    private Field field;
+    private Method method;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        annotations = Annotations.create(count);
+        edited = Annotations.edited("benchmark");
+        field = Target.class.getDeclaredField("value");
+        method = Target.class.getDeclaredMethod("run");
+
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().addAnnotation(Target.class, annotation);
+            Annotated.field().addAnnotation(field, annotation);
+            Annotated.method().addAnnotation(method, annotation);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().removeAnnotation(Target.class, annotation.annotationType());
+            Annotated.field().removeAnnotation(field, annotation.annotationType());
+            Annotated.method().removeAnnotation(method, annotation.annotationType());
+        }
+    }
+
+    @Benchmark
+    public Object classSingleEdit() {
+        Annotated.clazz().addAnnotation(Target.class, edited);
+        return Annotated.clazz().removeAnnotation(Target.class, Annotations.Edited.class);
+    }
+
+    @Benchmark
+    public Object fieldSingleEdit() {
+        Annotated.field().addAnnotation(field, edited);
+        return Annotated.field().removeAnnotation(field, Annotations.Edited.class);
+    }
+
+    @Benchmark
+    public Object methodSingleEdit() {
+        Annotated.method().addAnnotation(method, edited);
+        return Annotated.method().removeAnnotation(method, Annotations.Edited.class);
+    }
+
+    /**
+     * Adds an annotation and reverts the change by reinstalling the previous annotation data.
+     */
+    @Benchmark
+    public void classOverride() {
+        Annotated.clazz().override(Target.class, edited).close();
+    }
+
+    /**
+     * Replaces every declared annotation and adds one more, one operation at a time.
+     */
+    @Benchmark
+    public Object classSequentialEdits() {
+        for (Annotation annotation : annotations) {
+            Annotated.clazz().addAnnotation(Target.class, annotation);
+        }
+
+        Annotated.clazz().addAnnotation(Target.class, edited);
+        return Annotated.clazz().removeAnnotation(Target.class, Annotations.Edited.class);
+    }
+
+    /**
+     * Performs the same operations as {@link #classSequentialEdits()} in a single edit.
+     */
+    @Benchmark
+    public Object classBatchEdit() {
+        AnnotationEdit<Class<?>> edit = Annotated.clazz().edit(Target.class);
+
+        for (Annotation annotation : annotations) {
+            edit.add(annotation);
+        }
+
+        edit.add(edited).commit();
+        return Annotated.clazz().removeAnnotation(Target.class, Annotations.Edited.class);
+    }
+
+    @Benchmark
+    public Object fieldBatchEdit() {
+        AnnotationEdit<Field> edit = Annotated.field().edit(field);
+
+        for (Annotation annotation : annotations) {
+            edit.add(annotation);
+        }
+
+        edit.add(edited).commit();
+        return Annotated.field().removeAnnotation(field, Annotations.Edited.class);
+    }
+
+    static class Target {
+        int value;
+
+        void run() {}
+    }
+}
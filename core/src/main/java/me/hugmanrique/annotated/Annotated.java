@@ -0,0 +1,266 @@
+package me.hugmanrique.annotated;
+
+import me.hugmanrique.annotated.backend.AccessBackend;
+import me.hugmanrique.annotated.backend.AccessBackends;
+import me.hugmanrique.annotated.event.AnnotationChangeListener;
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+import me.hugmanrique.annotated.metrics.TransformListener;
+import me.hugmanrique.annotated.transformer.AnnotationIndex;
+import me.hugmanrique.annotated.transformer.ClassAnnotationTransformer;
+import me.hugmanrique.annotated.transformer.ExecutableAnnotationTransformer;
+import me.hugmanrique.annotated.transformer.FieldAnnotationTransformer;
+import me.hugmanrique.annotated.transformer.ParameterAnnotationTransformer;
+import me.hugmanrique.annotated.transformer.RecordComponentAnnotationTransformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides utilities to redefine annotations at runtime.
+ * Supports Java 8+, see {@link #setAccessBackend(AccessBackend)} to configure
+ * how the JDK internals are accessed on Java 9+.
+ *
+ * @author Hugo Manrique
+ * @since 19/10/2018
+ */
+public final class Annotated {
+    private static ClassAnnotationTransformer classTransformer;
+    private static FieldAnnotationTransformer fieldTransformer;
+    private static ExecutableAnnotationTransformer executableTransformer;
+    private static ParameterAnnotationTransformer parameterTransformer;
+    private static RecordComponentAnnotationTransformer recordComponentTransformer;
+    private static volatile AnnotationFactory annotationFactory = AnnotationFactory.proxy();
+    private static AccessBackend accessBackend;
+    private static volatile TransformListener transformListener = TransformListener.noop();
+    private static volatile AnnotationIndex annotationIndex;
+    private static final List<AnnotationChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    private Annotated() {}
+
+    /**
+     * @return an annotation transformer to modify class annotations
+     */
+    public static ClassAnnotationTransformer clazz() {
+        if (classTransformer == null) {
+            classTransformer = new ClassAnnotationTransformer();
+        }
+
+        return classTransformer;
+    }
+
+    /**
+     * @return an annotation transformer to modify field annotations
+     */
+    public static FieldAnnotationTransformer field() {
+        if (fieldTransformer == null) {
+            fieldTransformer = new FieldAnnotationTransformer();
+        }
+
+        return fieldTransformer;
+    }
+
+    /**
+     * @return an annotation transformer to modify executable annotations
+     * @see #method() alias method
+     * @see #constructor() alias method
+     */
+    public static ExecutableAnnotationTransformer executable() {
+        if (executableTransformer == null) {
+            executableTransformer = new ExecutableAnnotationTransformer();
+        }
+
+        return executableTransformer;
+    }
+
+    /**
+     * @return an annotation transformer to modify method annotations
+     */
+    public static ExecutableAnnotationTransformer method() {
+        return executable();
+    }
+
+    /**
+     * @return an annotation transformer to modify constructor annotations
+     */
+    public static ExecutableAnnotationTransformer constructor() {
+        return executable();
+    }
+
+    /**
+     * @return an annotation transformer to modify parameter annotations
+     */
+    public static ParameterAnnotationTransformer parameter() {
+        if (parameterTransformer == null) {
+            parameterTransformer = new ParameterAnnotationTransformer();
+        }
+
+        return parameterTransformer;
+    }
+
+    /**
+     * @return an annotation transformer to modify record component annotations
+     * @throws UnsupportedOperationException if the running JVM doesn't support records
+     */
+    public static RecordComponentAnnotationTransformer recordComponent() {
+        if (recordComponentTransformer == null) {
+            recordComponentTransformer = new RecordComponentAnnotationTransformer();
+        }
+
+        return recordComponentTransformer;
+    }
+
+    /**
+     * Returns the annotations present on the element without copying them,
+     * unlike {@link AnnotatedElement#getAnnotations()} which copies an array on every call.
+     *
+     * @param element a class, field, method, constructor, parameter or record component
+     * @return an immutable map of the annotations present on the element
+     * @throws IllegalArgumentException if the element type is not supported
+     * @throws IllegalStateException if a reflection exception occurs
+     * @see me.hugmanrique.annotated.transformer.AnnotationTransformer#annotations(AnnotatedElement)
+     */
+    public static Map<Class<? extends Annotation>, Annotation> annotations(AnnotatedElement element) {
+        if (element instanceof Class) {
+            return clazz().annotations((Class<?>) element);
+        } else if (element instanceof Field) {
+            return field().annotations((Field) element);
+        } else if (element instanceof Executable) {
+            return executable().annotations((Executable) element);
+        } else if (element instanceof Parameter) {
+            return parameter().annotations((Parameter) element);
+        } else if (element != null && element.getClass().getName().equals("java.lang.reflect.RecordComponent")) {
+            return recordComponent().annotations(element);
+        }
+
+        throw new IllegalArgumentException("Unsupported annotated element " + element);
+    }
+
+    /**
+     * @return the factory used to create annotations from their elements map
+     */
+    public static AnnotationFactory annotationFactory() {
+        return annotationFactory;
+    }
+
+    /**
+     * Sets the factory used by all transformers to create annotations from their elements map.
+     * Defaults to {@link AnnotationFactory#proxy()}.
+     *
+     * @param factory the annotation factory
+     */
+    public static void setAnnotationFactory(AnnotationFactory factory) {
+        annotationFactory = Objects.requireNonNull(factory, "factory");
+    }
+
+    /**
+     * @return the listener notified of the transformer events
+     */
+    public static TransformListener transformListener() {
+        return transformListener;
+    }
+
+    /**
+     * Sets the listener notified of the transformer events, such as completed edits.
+     * Defaults to {@link TransformListener#noop()}, which disables event reporting.
+     *
+     * @param listener the transform listener
+     * @see me.hugmanrique.annotated.metrics.TransformMetrics
+     */
+    public static void setTransformListener(TransformListener listener) {
+        transformListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * @return the index updated by the transformers, or {@code null} if indexing is disabled
+     */
+    public static AnnotationIndex annotationIndex() {
+        return annotationIndex;
+    }
+
+    /**
+     * Sets the index the transformers keep up to date with the annotations they add and remove.
+     * Indexing is disabled by default.
+     *
+     * @param index the annotation index, or {@code null} to disable indexing
+     */
+    public static void setAnnotationIndex(AnnotationIndex index) {
+        annotationIndex = index;
+    }
+
+    /**
+     * @return the listeners notified of the published annotation changes, in registration order
+     */
+    public static List<AnnotationChangeListener> changeListeners() {
+        return Collections.unmodifiableList(changeListeners);
+    }
+
+    /**
+     * Registers a listener notified after the transformers publish annotation changes.
+     *
+     * @param listener the change listener
+     */
+    public static void addChangeListener(AnnotationChangeListener listener) {
+        changeListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * @param listener the change listener to unregister
+     * @return {@code true} if the listener was registered
+     */
+    public static boolean removeChangeListener(AnnotationChangeListener listener) {
+        return changeListeners.remove(listener);
+    }
+
+    /**
+     * Returns the backend used to access the JDK internals. Defaults to {@link AccessBackends#detect()}.
+     * The backend is selected on the first call and cannot be changed afterwards.
+     *
+     * @return the access backend
+     */
+    public static synchronized AccessBackend accessBackend() {
+        if (accessBackend == null) {
+            accessBackend = AccessBackends.detect();
+        }
+
+        return accessBackend;
+    }
+
+    /**
+     * Sets the backend used to access the JDK internals.
+     * Must be called at startup, before any transformer or annotation factory is used.
+     *
+     * @param backend the access backend
+     * @throws IllegalStateException if a backend was already selected
+     */
+    public static synchronized void setAccessBackend(AccessBackend backend) {
+        Objects.requireNonNull(backend, "backend");
+
+        if (accessBackend != null) {
+            throw new IllegalStateException("Access backend already selected: " + accessBackend);
+        }
+
+        accessBackend = backend;
+    }
+
+    /**
+     * Uses the passed instrumentation to open the JDK internals to this library.
+     * Java agents should call this method from their {@code premain} or {@code agentmain} method.
+     *
+     * @param instrumentation the instrumentation instance
+     * @throws IllegalStateException if a backend was already selected
+     * @throws UnsupportedOperationException if the running JVM doesn't support modules
+     * @see AccessBackends#instrumentation(Instrumentation)
+     */
+    public static void installInstrumentation(Instrumentation instrumentation) {
+        setAccessBackend(AccessBackends.instrumentation(instrumentation));
+    }
+}
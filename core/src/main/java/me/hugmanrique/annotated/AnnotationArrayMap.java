@@ -0,0 +1,313 @@
+package me.hugmanrique.annotated;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable, insertion-ordered annotations map backed by a single array of
+ * alternating keys and values. Annotated elements rarely have more than a
+ * handful of annotations, so a linear scan by identity is faster and lighter
+ * than hashing. Larger maps also get an open-addressed identity hash index.
+ * Lookups never allocate. Edits go through a {@link Builder} which copies the
+ * array only on the first modification, so an edit costs a single array allocation.
+ *
+ * @author agent
+ */
+public final class AnnotationArrayMap extends AbstractMap<Class<? extends Annotation>, Annotation> {
+    private static final Object[] EMPTY_TABLE = new Object[0];
+    private static final AnnotationArrayMap EMPTY = new AnnotationArrayMap(EMPTY_TABLE, 0);
+    private static final int MAX_LINEAR_SIZE = 8;
+
+    private final Object[] table; // key0, value0, key1, value1, ...
+    private final int size;
+    private final int[] slots; // Key index + 1 by identity hash, null if scanned linearly
+    private Set<Entry<Class<? extends Annotation>, Annotation>> entrySet;
+
+    private AnnotationArrayMap(Object[] table, int size) {
+        this.table = table;
+        this.size = size;
+        this.slots = size > MAX_LINEAR_SIZE ? index(table, size) : null;
+    }
+
+    private static int[] index(Object[] table, int size) {
+        int[] slots = new int[Integer.highestOneBit(size - 1) << 2]; // Load factor between 1/4 and 1/2
+        int mask = slots.length - 1;
+
+        for (int i = 0; i < size * 2; i += 2) {
+            int slot = hash(table[i]) & mask;
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = i + 1;
+        }
+
+        return slots;
+    }
+
+    private static int hash(Object key) {
+        int hash = System.identityHashCode(key);
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the empty annotations map
+     */
+    public static AnnotationArrayMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns an immutable copy of the passed map, or the map itself if it is already an {@link AnnotationArrayMap}.
+     *
+     * @param map the annotations map to copy
+     * @return an immutable annotations map with the same entries
+     */
+    public static AnnotationArrayMap copyOf(Map<Class<? extends Annotation>, Annotation> map) {
+        if (map instanceof AnnotationArrayMap) {
+            return (AnnotationArrayMap) map;
+        }
+
+        return builder(map).build();
+    }
+
+    /**
+     * Returns a mutable map initially containing the entries of the passed map.
+     * The entries are only copied on the first modification.
+     *
+     * @param map the initial entries
+     * @return a new builder
+     */
+    public static Builder builder(Map<Class<? extends Annotation>, Annotation> map) {
+        if (map instanceof AnnotationArrayMap) {
+            return new Builder((AnnotationArrayMap) map);
+        }
+
+        Builder builder = new Builder(EMPTY);
+        builder.putAll(map);
+
+        return builder;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public Annotation get(Object key) {
+        int index = indexOf(key);
+
+        return index != -1 ? (Annotation) table[index + 1] : null;
+    }
+
+    private int indexOf(Object key) {
+        if (slots == null) {
+            return indexOf(table, size, key);
+        }
+
+        int mask = slots.length - 1;
+
+        for (int slot = hash(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+
+            if (table[index] == key) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Class<? extends Annotation>, ? super Annotation> action) {
+        for (int i = 0; i < size * 2; i += 2) {
+            action.accept((Class<? extends Annotation>) table[i], (Annotation) table[i + 1]);
+        }
+    }
+
+    @Override
+    public Set<Entry<Class<? extends Annotation>, Annotation>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet(table, size);
+        }
+
+        return entrySet;
+    }
+
+    private static int indexOf(Object[] table, int size, Object key) {
+        for (int i = 0; i < size * 2; i += 2) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Mutable annotations map that builds a new {@link AnnotationArrayMap}.
+     * Not thread-safe.
+     */
+    public static final class Builder extends AbstractMap<Class<? extends Annotation>, Annotation> {
+        private final AnnotationArrayMap source;
+        private Object[] table;
+        private int size;
+        private boolean modified;
+
+        private Builder(AnnotationArrayMap source) {
+            this.source = source;
+            this.table = source.table;
+            this.size = source.size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(table, size, key) != -1;
+        }
+
+        @Override
+        public Annotation get(Object key) {
+            int index = indexOf(table, size, key);
+
+            return index != -1 ? (Annotation) table[index + 1] : null;
+        }
+
+        @Override
+        public Annotation put(Class<? extends Annotation> key, Annotation value) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+
+            int index = indexOf(table, size, key);
+
+            if (index != -1) {
+                Annotation previous = (Annotation) table[index + 1];
+
+                if (previous != value) {
+                    ensureCopied(0);
+                    table[index + 1] = value;
+                }
+
+                return previous;
+            }
+
+            ensureCopied(1);
+            table[size * 2] = key;
+            table[size * 2 + 1] = value;
+            size++;
+
+            return null;
+        }
+
+        @Override
+        public Annotation remove(Object key) {
+            int index = indexOf(table, size, key);
+
+            if (index == -1) {
+                return null;
+            }
+
+            Annotation previous = (Annotation) table[index + 1];
+
+            ensureCopied(0);
+            System.arraycopy(table, index + 2, table, index, size * 2 - index - 2);
+            size--;
+            table[size * 2] = null;
+            table[size * 2 + 1] = null;
+
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            table = EMPTY_TABLE;
+            size = 0;
+            modified = true;
+        }
+
+        @Override
+        public Set<Entry<Class<? extends Annotation>, Annotation>> entrySet() {
+            return new EntrySet(table, size);
+        }
+
+        private void ensureCopied(int extraEntries) {
+            int capacity = (size + extraEntries) * 2;
+
+            if (!modified) {
+                table = Arrays.copyOf(table, Math.max(capacity, size * 2 + 4));
+                modified = true;
+            } else if (capacity > table.length) {
+                table = Arrays.copyOf(table, Math.max(capacity, table.length * 2));
+            }
+        }
+
+        /**
+         * Returns a map with the current entries. Returns the source map if no modifications were made.
+         * The builder must not be used after calling this method.
+         *
+         * @return the built map
+         */
+        public AnnotationArrayMap build() {
+            if (!modified) {
+                return source;
+            }
+
+            return size == 0 ? EMPTY : new AnnotationArrayMap(table, size);
+        }
+    }
+
+    private static final class EntrySet extends AbstractSet<Entry<Class<? extends Annotation>, Annotation>> {
+        private final Object[] table;
+        private final int size;
+
+        private EntrySet(Object[] table, int size) {
+            this.table = table;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<Class<? extends Annotation>, Annotation>> iterator() {
+            return new Iterator<Entry<Class<? extends Annotation>, Annotation>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size * 2;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<Class<? extends Annotation>, Annotation> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Entry<Class<? extends Annotation>, Annotation> entry = new SimpleImmutableEntry<>(
+                        (Class<? extends Annotation>) table[index], (Annotation) table[index + 1]);
+                    index += 2;
+
+                    return entry;
+                }
+            };
+        }
+    }
+}
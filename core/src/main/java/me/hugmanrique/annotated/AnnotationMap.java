@@ -0,0 +1,167 @@
+package me.hugmanrique.annotated;
+
+import me.hugmanrique.annotated.factory.AnnotationDescriptor;
+import me.hugmanrique.annotated.transformer.ClassAnnotationTransformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Immutable representation of annotation maps of a class.
+ *
+ * @author Hugo Manrique
+ * @since 19/10/2018
+ */
+public final class AnnotationMap {
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+    private final Map<Class<? extends Annotation>, Annotation> declaredAnnotations;
+
+    @SuppressWarnings("unchecked")
+    public AnnotationMap(final Object annotationData) throws IllegalAccessException {
+        Objects.requireNonNull(annotationData, "Annotation data");
+
+        this.annotations = (Map<Class<? extends Annotation>, Annotation>) ClassAnnotationTransformer.annotationsField.get(annotationData);
+        this.declaredAnnotations = (Map<Class<? extends Annotation>, Annotation>) ClassAnnotationTransformer.declaredAnnotationsField.get(annotationData);
+    }
+
+    public AnnotationMap(Map<Class<? extends Annotation>, Annotation> annotations, Map<Class<? extends Annotation>, Annotation> declaredAnnotations) {
+        this.annotations = Objects.requireNonNull(annotations, "annotations");
+        this.declaredAnnotations = Objects.requireNonNull(declaredAnnotations, "declared annotations");
+    }
+
+    /**
+     * Applies the editor to a copy of the declared annotations map and recomputes the
+     * annotations map the same way the JDK does: the {@link Inherited} annotations of
+     * the superclass, overridden by the declared annotations. The edited maps are
+     * {@link AnnotationArrayMap}s, so an edit only allocates one array per map.
+     *
+     * @param editor the function that modifies the declared annotations map
+     * @param superclassAnnotations the annotations map of the superclass, empty if there's none
+     * @return the edited annotation map
+     */
+    public AnnotationMap edit(Consumer<? super Map<Class<? extends Annotation>, Annotation>> editor,
+                              Map<Class<? extends Annotation>, Annotation> superclassAnnotations) {
+        AnnotationArrayMap.Builder declaredBuilder = AnnotationArrayMap.builder(declaredAnnotations);
+        editor.accept(declaredBuilder);
+
+        Map<Class<? extends Annotation>, Annotation> newDeclaredAnnotations = declaredBuilder.build();
+
+        return new AnnotationMap(inherit(superclassAnnotations, newDeclaredAnnotations), newDeclaredAnnotations);
+    }
+
+    /**
+     * Applies the editor to a copy of the declared annotations map, keeping the annotations
+     * this map currently inherits. Prefer {@link #edit(Consumer, Map)}, which can also restore
+     * inherited annotations shadowed by a removed declared annotation.
+     *
+     * @param editor the function that modifies the declared annotations map
+     * @return the edited annotation map
+     */
+    public AnnotationMap edit(Consumer<? super Map<Class<? extends Annotation>, Annotation>> editor) {
+        AnnotationArrayMap.Builder inherited = AnnotationArrayMap.builder(AnnotationArrayMap.empty());
+
+        annotations.forEach((annotationClass, annotation) -> {
+            if (declaredAnnotations.get(annotationClass) != annotation) {
+                inherited.put(annotationClass, annotation);
+            }
+        });
+
+        return edit(editor, inherited);
+    }
+
+    /**
+     * Recomputes the annotations map from the passed superclass annotations.
+     *
+     * @param superclassAnnotations the annotations map of the superclass, empty if there's none
+     * @return the updated annotation map
+     */
+    public AnnotationMap inherit(Map<Class<? extends Annotation>, Annotation> superclassAnnotations) {
+        return new AnnotationMap(inherit(superclassAnnotations, declaredAnnotations), declaredAnnotations);
+    }
+
+    public <T extends Annotation> AnnotationMap addAnnotation(Class<T> annotationClass, T annotation) {
+        return edit(annotations -> annotations.put(annotationClass, annotation));
+    }
+
+    public <T extends Annotation> AnnotationRemoval removeAnnotation(Class<T> annotationClass) {
+        return new AnnotationRemoval(
+            edit(annotations -> annotations.remove(annotationClass)),
+            declaredAnnotations.get(annotationClass)
+        );
+    }
+
+    /**
+     * Checks whether the passed annotation maps contain different {@link Inherited} annotations.
+     *
+     * @param annotations the first annotations map
+     * @param otherAnnotations the second annotations map
+     * @return {@code true} if the inherited annotations differ
+     */
+    public static boolean inheritedAnnotationsDiffer(Map<Class<? extends Annotation>, Annotation> annotations,
+                                                     Map<Class<? extends Annotation>, Annotation> otherAnnotations) {
+        return containsMissingInherited(annotations, otherAnnotations) || containsMissingInherited(otherAnnotations, annotations);
+    }
+
+    private static boolean containsMissingInherited(Map<Class<? extends Annotation>, Annotation> annotations,
+                                                    Map<Class<? extends Annotation>, Annotation> otherAnnotations) {
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : annotations.entrySet()) {
+            if (AnnotationDescriptor.of(entry.getKey()).isInherited() && otherAnnotations.get(entry.getKey()) != entry.getValue()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Map<Class<? extends Annotation>, Annotation> inherit(Map<Class<? extends Annotation>, Annotation> superclassAnnotations,
+                                                                        Map<Class<? extends Annotation>, Annotation> declaredAnnotations) {
+        AnnotationArrayMap.Builder builder = null;
+
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : superclassAnnotations.entrySet()) {
+            if (AnnotationDescriptor.of(entry.getKey()).isInherited()) {
+                if (builder == null) {
+                    builder = AnnotationArrayMap.builder(AnnotationArrayMap.empty());
+                }
+
+                builder.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (builder == null) {
+            // Nothing inherited, share the declared annotations map like the JDK does
+            return declaredAnnotations;
+        }
+
+        builder.putAll(declaredAnnotations);
+        return builder.build();
+    }
+
+    public Map<Class<? extends Annotation>, Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    public Map<Class<? extends Annotation>, Annotation> getDeclaredAnnotations() {
+        return declaredAnnotations;
+    }
+
+    public static class AnnotationRemoval {
+        private final AnnotationMap newMap;
+        private final Annotation removed;
+
+        private AnnotationRemoval(AnnotationMap newMap, Annotation removed) {
+            this.newMap = newMap;
+            this.removed = removed;
+        }
+
+        public AnnotationMap getNewMap() {
+            return newMap;
+        }
+
+        public Annotation getRemoved() {
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package me.hugmanrique.annotated.backend;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Provides access to the JDK internals used by the annotation transformers and factories,
+ * such as {@code Class.AnnotationData} and the {@code declaredAnnotations} map of members.
+ *
+ * @author agent
+ * @see AccessBackends
+ */
+public interface AccessBackend {
+    /**
+     * Returns a lookup with private access to the members of the target class.
+     *
+     * @param targetClass the class whose members will be accessed
+     * @return a lookup with private access to the target class
+     * @throws IllegalAccessException if the backend cannot access the target class
+     */
+    MethodHandles.Lookup privateLookupIn(Class<?> targetClass) throws IllegalAccessException;
+}
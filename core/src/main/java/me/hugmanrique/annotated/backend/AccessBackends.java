@@ -0,0 +1,88 @@
+package me.hugmanrique.annotated.backend;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+
+/**
+ * Provides the available {@link AccessBackend} implementations.
+ * <p>
+ * The module-aware backends are shipped in the Java 9 section of the multi-release JAR,
+ * so they are only available on Java 9+ when the library is on a multi-release aware class path.
+ *
+ * @author agent
+ */
+public final class AccessBackends {
+    private static final String MODULE_BACKEND_CLASS = "me.hugmanrique.annotated.backend.ModuleAccessBackend";
+
+    private AccessBackends() {}
+
+    /**
+     * Returns a backend that uses the trusted lookup of the JDK. It is read with reflection
+     * on Java 8 and with {@code sun.misc.Unsafe} on Java 9+ if {@code java.lang.invoke} isn't open.
+     *
+     * @return the trusted lookup backend
+     */
+    public static AccessBackend trusted() {
+        return TrustedLookupBackend.INSTANCE;
+    }
+
+    /**
+     * Returns a backend that uses {@code MethodHandles.privateLookupIn}. The JDK packages must be
+     * opened to this library, e.g. with {@code --add-opens java.base/java.lang=ALL-UNNAMED}.
+     *
+     * @return the private lookup backend
+     * @throws UnsupportedOperationException if the running JVM doesn't support modules
+     */
+    public static AccessBackend privateLookup() {
+        return moduleBackend(null, null);
+    }
+
+    /**
+     * Returns a backend that opens the accessed JDK packages to this library
+     * through the passed instrumentation, usually provided by a Java agent.
+     *
+     * @param instrumentation the instrumentation instance
+     * @return the instrumentation backend
+     * @throws UnsupportedOperationException if the running JVM doesn't support modules
+     */
+    public static AccessBackend instrumentation(Instrumentation instrumentation) {
+        return moduleBackend(Objects.requireNonNull(instrumentation, "instrumentation"), null);
+    }
+
+    /**
+     * Returns the best backend for the running JVM. On Java 8 this is the {@link #trusted()} backend.
+     * On Java 9+ packages opened to this library are accessed through {@link #privateLookup()},
+     * and the rest through the trusted lookup.
+     *
+     * @return the detected backend
+     */
+    public static AccessBackend detect() {
+        try {
+            return moduleBackend(null, trusted());
+        } catch (UnsupportedOperationException e) {
+            return trusted();
+        }
+    }
+
+    private static AccessBackend moduleBackend(Instrumentation instrumentation, AccessBackend fallback) {
+        Class<?> backendClass;
+
+        try {
+            backendClass = Class.forName(MODULE_BACKEND_CLASS);
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Module backends require Java 9+ and a multi-release class path");
+        }
+
+        try {
+            Constructor<?> constructor = backendClass.getDeclaredConstructor(Instrumentation.class, AccessBackend.class);
+
+            return (AccessBackend) constructor.newInstance(instrumentation, fallback);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.hugmanrique.annotated.backend;
+
+import sun.misc.Unsafe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+/**
+ * Uses the trusted lookup of the JDK, which can access any member of any class.
+ * The lookup is read through reflection on Java 8, and through {@link Unsafe}
+ * if the {@code java.lang.invoke} package is not open to us.
+ *
+ * @author agent
+ */
+final class TrustedLookupBackend implements AccessBackend {
+    static final TrustedLookupBackend INSTANCE = new TrustedLookupBackend();
+
+    private static final MethodHandles.Lookup trustedLookup; // null if unavailable
+
+    static {
+        MethodHandles.Lookup lookup;
+
+        try {
+            lookup = readStaticField(MethodHandles.Lookup.class.getDeclaredField("IMPL_LOOKUP"));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            lookup = null;
+        }
+
+        trustedLookup = lookup;
+    }
+
+    private TrustedLookupBackend() {}
+
+    private static MethodHandles.Lookup readStaticField(Field field) throws ReflectiveOperationException {
+        try {
+            field.setAccessible(true);
+            return (MethodHandles.Lookup) field.get(null);
+        } catch (RuntimeException e) {
+            // The package is encapsulated, read the field value directly
+            Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            Unsafe unsafe = (Unsafe) unsafeField.get(null);
+
+            return (MethodHandles.Lookup) unsafe.getObject(unsafe.staticFieldBase(field), unsafe.staticFieldOffset(field));
+        }
+    }
+
+    @Override
+    public MethodHandles.Lookup privateLookupIn(Class<?> targetClass) throws IllegalAccessException {
+        if (trustedLookup == null) {
+            throw new IllegalAccessException("The trusted lookup is not available");
+        }
+
+        return trustedLookup;
+    }
+
+    @Override
+    public String toString() {
+        return "TrustedLookupBackend";
+    }
+}
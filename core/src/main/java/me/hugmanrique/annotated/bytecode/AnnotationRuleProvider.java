@@ -0,0 +1,19 @@
+package me.hugmanrique.annotated.bytecode;
+
+/**
+ * Registers annotation rules to apply to class files. Implementations are discovered
+ * with {@link java.util.ServiceLoader} or passed by name to the Annotated agent and
+ * build plugin, and must have a public no-arg constructor.
+ *
+ * @author agent
+ */
+public interface AnnotationRuleProvider {
+    /**
+     * Registers the rules of this provider. The annotated classes should be referenced by
+     * name, or through the {@link AnnotationRules#clazz()} family of transformers only if
+     * loading them at this point is acceptable.
+     *
+     * @param rules the rules to register into
+     */
+    void registerRules(AnnotationRules rules);
+}
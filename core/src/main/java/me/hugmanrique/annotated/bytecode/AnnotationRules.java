@@ -0,0 +1,77 @@
+package me.hugmanrique.annotated.bytecode;
+
+import me.hugmanrique.annotated.transformer.AnnotationTransformer;
+import me.hugmanrique.annotated.transformer.RecordingAnnotationTransformer;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Annotation changes to apply to class files before they are loaded, so annotations
+ * are correct from the first lookup without any runtime transformation.
+ * Rules are registered by class name, or through the regular {@link AnnotationTransformer}
+ * API with the transformers returned by {@link #clazz()}, {@link #field()} and {@link #executable()}.
+ *
+ * @author agent
+ * @see ClassFileRewriter
+ */
+public final class AnnotationRules {
+    private final ConcurrentMap<String, ClassRules> classes = new ConcurrentHashMap<>();
+
+    private final AnnotationTransformer<Class<?>> classTransformer = new RecordingAnnotationTransformer<>(
+        clazz -> forClass(clazz.getName()).getAnnotations().recorder());
+    private final AnnotationTransformer<Field> fieldTransformer = new RecordingAnnotationTransformer<>(
+        field -> forClass(field.getDeclaringClass().getName()).field(field.getName()).recorder());
+    private final AnnotationTransformer<Executable> executableTransformer = new RecordingAnnotationTransformer<>(
+        executable -> forClass(executable.getDeclaringClass().getName())
+            .method(Descriptors.nameOf(executable), Descriptors.of(executable)).recorder());
+
+    /**
+     * @param className the binary name of the class, e.g. {@code com.example.Outer$Inner}
+     * @return the rules of the class
+     */
+    public ClassRules forClass(String className) {
+        return classes.computeIfAbsent(Objects.requireNonNull(className, "class name"), ClassRules::new);
+    }
+
+    /**
+     * @param className the binary name of the class
+     * @return the rules of the class, or {@code null} if none were registered
+     */
+    public ClassRules get(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * @return the binary names of the classes with registered rules
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(classes.keySet());
+    }
+
+    /**
+     * @return a transformer that records class annotation changes as rules
+     */
+    public AnnotationTransformer<Class<?>> clazz() {
+        return classTransformer;
+    }
+
+    /**
+     * @return a transformer that records field annotation changes as rules
+     */
+    public AnnotationTransformer<Field> field() {
+        return fieldTransformer;
+    }
+
+    /**
+     * @return a transformer that records method and constructor annotation changes as rules
+     */
+    public AnnotationTransformer<Executable> executable() {
+        return executableTransformer;
+    }
+}
@@ -0,0 +1,89 @@
+package me.hugmanrique.annotated.bytecode;
+
+import me.hugmanrique.annotated.factory.AnnotationDescriptor;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.List;
+
+/**
+ * Writes annotation instances in the class file {@code annotation} structure format.
+ *
+ * @author agent
+ */
+final class AnnotationWriter {
+    private final ConstantPool pool;
+
+    AnnotationWriter(ConstantPool pool) {
+        this.pool = pool;
+    }
+
+    void writeAnnotation(DataOutputStream out, Annotation annotation) throws IOException {
+        AnnotationDescriptor descriptor = AnnotationDescriptor.of(annotation.annotationType());
+        List<String> names = descriptor.getElementNames();
+
+        out.writeShort(pool.utf8(Descriptors.of(annotation.annotationType())));
+        out.writeShort(names.size());
+
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+
+            out.writeShort(pool.utf8(name));
+            writeElementValue(out, descriptor.getElementType(name), descriptor.getValue(annotation, i));
+        }
+    }
+
+    private void writeElementValue(DataOutputStream out, Class<?> type, Object value) throws IOException {
+        if (type == boolean.class) {
+            out.writeByte('Z');
+            out.writeShort(pool.integer((Boolean) value ? 1 : 0));
+        } else if (type == byte.class) {
+            out.writeByte('B');
+            out.writeShort(pool.integer((Byte) value));
+        } else if (type == char.class) {
+            out.writeByte('C');
+            out.writeShort(pool.integer((Character) value));
+        } else if (type == short.class) {
+            out.writeByte('S');
+            out.writeShort(pool.integer((Short) value));
+        } else if (type == int.class) {
+            out.writeByte('I');
+            out.writeShort(pool.integer((Integer) value));
+        } else if (type == long.class) {
+            out.writeByte('J');
+            out.writeShort(pool.longValue((Long) value));
+        } else if (type == float.class) {
+            out.writeByte('F');
+            out.writeShort(pool.floatValue((Float) value));
+        } else if (type == double.class) {
+            out.writeByte('D');
+            out.writeShort(pool.doubleValue((Double) value));
+        } else if (type == String.class) {
+            out.writeByte('s');
+            out.writeShort(pool.utf8((String) value));
+        } else if (type == Class.class) {
+            out.writeByte('c');
+            out.writeShort(pool.utf8(Descriptors.of((Class<?>) value)));
+        } else if (type.isEnum()) {
+            out.writeByte('e');
+            out.writeShort(pool.utf8(Descriptors.of(type)));
+            out.writeShort(pool.utf8(((Enum<?>) value).name()));
+        } else if (type.isAnnotation()) {
+            out.writeByte('@');
+            writeAnnotation(out, (Annotation) value);
+        } else if (type.isArray()) {
+            int length = Array.getLength(value);
+
+            out.writeByte('[');
+            out.writeShort(length);
+
+            for (int i = 0; i < length; i++) {
+                writeElementValue(out, type.getComponentType(), Array.get(value, i));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported element type " + type.getName());
+        }
+    }
+}
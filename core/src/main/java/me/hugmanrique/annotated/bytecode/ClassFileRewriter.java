@@ -0,0 +1,302 @@
+package me.hugmanrique.annotated.bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+import static me.hugmanrique.annotated.bytecode.ConstantPool.readInt;
+import static me.hugmanrique.annotated.bytecode.ConstantPool.readUnsignedShort;
+
+/**
+ * Applies {@link AnnotationRules} to class files by rewriting their {@code RuntimeVisibleAnnotations}
+ * attributes. The rest of the class file is copied as-is, and new constants are appended
+ * to the constant pool, so the bytecode of the class is left untouched.
+ *
+ * @author agent
+ */
+public final class ClassFileRewriter {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int HEADER_LENGTH = 8; // Magic and version
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final AnnotationRules rules;
+
+    public ClassFileRewriter(AnnotationRules rules) {
+        this.rules = Objects.requireNonNull(rules, "rules");
+    }
+
+    /**
+     * Returns the binary name of the class defined by the class file.
+     *
+     * @param classFile the class file bytes
+     * @return the binary name of the class, e.g. {@code com.example.Outer$Inner}
+     * @throws IllegalArgumentException if the class file is malformed
+     */
+    public static String getClassName(byte[] classFile) {
+        checkMagic(classFile);
+        ConstantPool pool = new ConstantPool(classFile, HEADER_LENGTH);
+
+        return pool.getClassName(readUnsignedShort(classFile, pool.getEnd() + 2)).replace('/', '.');
+    }
+
+    /**
+     * Applies the rules of the class defined by the class file.
+     *
+     * @param classFile the class file bytes
+     * @return the rewritten class file, or {@code null} if the rules don't change the class file
+     * @throws IllegalArgumentException if the class file is malformed
+     */
+    public byte[] rewrite(byte[] classFile) {
+        checkMagic(classFile);
+        ConstantPool pool = new ConstantPool(classFile, HEADER_LENGTH);
+        String className = pool.getClassName(readUnsignedShort(classFile, pool.getEnd() + 2)).replace('/', '.');
+        ClassRules classRules = rules.get(className);
+
+        if (classRules == null) {
+            return null;
+        }
+
+        try {
+            return new Rewrite(classFile, pool).rewrite(classRules);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file of " + className, e);
+        }
+    }
+
+    private static void checkMagic(byte[] classFile) {
+        if (classFile.length < HEADER_LENGTH + 2 || readInt(classFile, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+    }
+
+    /**
+     * Rewrites a single class file.
+     */
+    private static final class Rewrite {
+        private final byte[] classFile;
+        private final ConstantPool pool;
+        private final AnnotationWriter annotationWriter;
+        private final ByteArrayOutputStream body;
+        private final DataOutputStream out;
+        private boolean modified;
+
+        private Rewrite(byte[] classFile, ConstantPool pool) {
+            this.classFile = classFile;
+            this.pool = pool;
+            this.annotationWriter = new AnnotationWriter(pool);
+            this.body = new ByteArrayOutputStream(classFile.length + 64);
+            this.out = new DataOutputStream(body);
+        }
+
+        private byte[] rewrite(ClassRules rules) throws IOException {
+            int offset = pool.getEnd();
+            int interfacesEnd = offset + 8 + readUnsignedShort(classFile, offset + 6) * 2;
+
+            // Access flags, this and super classes, interfaces
+            out.write(classFile, offset, interfacesEnd - offset);
+            offset = interfacesEnd;
+
+            // Fields
+            int fieldCount = readUnsignedShort(classFile, offset);
+            out.writeShort(fieldCount);
+            offset += 2;
+
+            for (int i = 0; i < fieldCount; i++) {
+                ElementRules fieldRules = rules.getField(pool.getUtf8(readUnsignedShort(classFile, offset + 2)));
+
+                offset = rewriteMember(offset, fieldRules != null ? Collections.singletonList(fieldRules) : Collections.emptyList());
+            }
+
+            // Methods
+            int methodCount = readUnsignedShort(classFile, offset);
+            out.writeShort(methodCount);
+            offset += 2;
+
+            for (int i = 0; i < methodCount; i++) {
+                String name = pool.getUtf8(readUnsignedShort(classFile, offset + 2));
+                String descriptor = pool.getUtf8(readUnsignedShort(classFile, offset + 4));
+
+                offset = rewriteMember(offset, rules.getMethod(name, descriptor));
+            }
+
+            // Class attributes
+            rewriteAttributes(offset, Collections.singletonList(rules.getAnnotations()));
+
+            if (!modified) {
+                return null;
+            }
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + pool.getEnd() + 64);
+            DataOutputStream resultOut = new DataOutputStream(result);
+
+            resultOut.write(classFile, 0, HEADER_LENGTH);
+            pool.write(resultOut);
+            body.writeTo(resultOut);
+
+            return result.toByteArray();
+        }
+
+        private int rewriteMember(int offset, List<ElementRules> rules) throws IOException {
+            out.write(classFile, offset, 6); // Access flags, name and descriptor
+
+            return rewriteAttributes(offset + 6, rules);
+        }
+
+        private int rewriteAttributes(int offset, List<ElementRules> rules) throws IOException {
+            int count = readUnsignedShort(classFile, offset);
+            int start = offset;
+            List<Object> operations = new ArrayList<>();
+
+            for (ElementRules elementRules : rules) {
+                operations.addAll(elementRules.getOperations());
+            }
+
+            ByteArrayOutputStream otherAttributes = new ByteArrayOutputStream();
+            int otherCount = 0;
+            List<Entry> annotations = new ArrayList<>();
+
+            offset += 2;
+
+            for (int i = 0; i < count; i++) {
+                int end = offset + 6 + readInt(classFile, offset + 2);
+
+                if (!operations.isEmpty() && pool.getUtf8(readUnsignedShort(classFile, offset)).equals(RUNTIME_VISIBLE_ANNOTATIONS)) {
+                    readAnnotations(offset + 6, annotations);
+                } else {
+                    otherAttributes.write(classFile, offset, end - offset);
+                    otherCount++;
+                }
+
+                offset = end;
+            }
+
+            if (!apply(operations, annotations)) {
+                out.write(classFile, start, offset - start);
+                return offset;
+            }
+
+            modified = true;
+            out.writeShort(otherCount + (annotations.isEmpty() ? 0 : 1));
+            otherAttributes.writeTo(out);
+
+            if (!annotations.isEmpty()) {
+                writeAnnotations(annotations);
+            }
+
+            return offset;
+        }
+
+        /**
+         * Applies the operations in order.
+         *
+         * @return {@code true} if the annotations changed
+         */
+        private static boolean apply(List<Object> operations, List<Entry> annotations) {
+            boolean changed = false;
+
+            for (Object operation : operations) {
+                if (operation instanceof Annotation) {
+                    Annotation annotation = (Annotation) operation;
+                    String descriptor = Descriptors.of(annotation.annotationType());
+
+                    annotations.removeIf(entry -> entry.descriptor.equals(descriptor));
+                    annotations.add(new Entry(descriptor, null, annotation));
+                    changed = true;
+                } else {
+                    String descriptor = Descriptors.of((Class<?>) operation);
+
+                    changed |= annotations.removeIf(entry -> entry.descriptor.equals(descriptor));
+                }
+            }
+
+            return changed;
+        }
+
+        private void readAnnotations(int offset, List<Entry> annotations) {
+            int count = readUnsignedShort(classFile, offset);
+            offset += 2;
+
+            for (int i = 0; i < count; i++) {
+                int end = skipAnnotation(offset);
+                String descriptor = pool.getUtf8(readUnsignedShort(classFile, offset));
+
+                annotations.add(new Entry(descriptor, Arrays.copyOfRange(classFile, offset, end), null));
+                offset = end;
+            }
+        }
+
+        private int skipAnnotation(int offset) {
+            int pairCount = readUnsignedShort(classFile, offset + 2);
+            offset += 4;
+
+            for (int i = 0; i < pairCount; i++) {
+                offset = skipElementValue(offset + 2);
+            }
+
+            return offset;
+        }
+
+        private int skipElementValue(int offset) {
+            char tag = (char) classFile[offset];
+            offset++;
+
+            switch (tag) {
+                case 'B': case 'C': case 'D': case 'F': case 'I': case 'J': case 'S': case 'Z': case 's': case 'c':
+                    return offset + 2;
+                case 'e':
+                    return offset + 4;
+                case '@':
+                    return skipAnnotation(offset);
+                case '[':
+                    int length = readUnsignedShort(classFile, offset);
+                    offset += 2;
+
+                    for (int i = 0; i < length; i++) {
+                        offset = skipElementValue(offset);
+                    }
+
+                    return offset;
+                default:
+                    throw new IllegalArgumentException("Unknown element value tag " + tag);
+            }
+        }
+
+        private void writeAnnotations(List<Entry> annotations) throws IOException {
+            ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+            DataOutputStream attributeOut = new DataOutputStream(attribute);
+
+            attributeOut.writeShort(annotations.size());
+
+            for (Entry entry : annotations) {
+                if (entry.bytes != null) {
+                    attributeOut.write(entry.bytes);
+                } else {
+                    annotationWriter.writeAnnotation(attributeOut, entry.annotation);
+                }
+            }
+
+            out.writeShort(pool.utf8(RUNTIME_VISIBLE_ANNOTATIONS));
+            out.writeInt(attribute.size());
+            attribute.writeTo(out);
+        }
+    }
+
+    /**
+     * An existing annotation structure, or an annotation to add.
+     */
+    private static final class Entry {
+        private final String descriptor;
+        private final byte[] bytes; // null if not written yet
+        private final Annotation annotation;
+
+        private Entry(String descriptor, byte[] bytes, Annotation annotation) {
+            this.descriptor = descriptor;
+            this.bytes = bytes;
+            this.annotation = annotation;
+        }
+    }
+}
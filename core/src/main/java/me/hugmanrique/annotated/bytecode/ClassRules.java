@@ -0,0 +1,152 @@
+package me.hugmanrique.annotated.bytecode;
+
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Annotation changes to apply to the class file of a class and its members.
+ *
+ * @author agent
+ */
+public final class ClassRules {
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    private final String className;
+    private final ElementRules annotations = new ElementRules();
+    private final ConcurrentMap<String, ElementRules> fields = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ElementRules> methods = new ConcurrentHashMap<>(); // Keyed by name, or name and descriptor
+
+    ClassRules(String className) {
+        this.className = className;
+    }
+
+    /**
+     * @return the binary name of the class
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @see ElementRules#addAnnotation(Annotation)
+     */
+    public ClassRules addAnnotation(Annotation annotation) {
+        annotations.addAnnotation(annotation);
+        return this;
+    }
+
+    /**
+     * @see ElementRules#addAnnotation(Class, Map)
+     */
+    public <T extends Annotation> ClassRules addAnnotation(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        annotations.addAnnotation(annotationClass, elementsMap);
+        return this;
+    }
+
+    /**
+     * @see ElementRules#removeAnnotation(Class)
+     */
+    public ClassRules removeAnnotation(Class<? extends Annotation> annotationClass) {
+        annotations.removeAnnotation(annotationClass);
+        return this;
+    }
+
+    /**
+     * @param name the field name
+     * @return the rules of the field declared by this class
+     */
+    public ElementRules field(String name) {
+        return fields.computeIfAbsent(Objects.requireNonNull(name, "name"), key -> new ElementRules());
+    }
+
+    /**
+     * @param name the method name
+     * @return the rules of every method overload with the passed name declared by this class
+     */
+    public ElementRules method(String name) {
+        return methods.computeIfAbsent(Objects.requireNonNull(name, "name"), key -> new ElementRules());
+    }
+
+    /**
+     * @param name the method name
+     * @param descriptor the method descriptor, e.g. {@code (Ljava/lang/String;)V}
+     * @return the rules of the method declared by this class
+     */
+    public ElementRules method(String name, String descriptor) {
+        Objects.requireNonNull(descriptor, "descriptor");
+
+        return methods.computeIfAbsent(Objects.requireNonNull(name, "name") + descriptor, key -> new ElementRules());
+    }
+
+    /**
+     * @param descriptor the constructor descriptor, e.g. {@code (I)V}
+     * @return the rules of the constructor declared by this class
+     */
+    public ElementRules constructor(String descriptor) {
+        return method(CONSTRUCTOR_NAME, descriptor);
+    }
+
+    /**
+     * Returns a digest of the registered rules, which only changes when rules are added
+     * to the class or its members. Used to detect rule changes between builds.
+     *
+     * @return the hex-encoded SHA-256 digest of the rules
+     */
+    public String digest() {
+        StringBuilder builder = new StringBuilder();
+
+        annotations.describe(builder);
+
+        for (Map.Entry<String, ElementRules> entry : new TreeMap<>(fields).entrySet()) {
+            builder.append("\nfield ").append(entry.getKey());
+            entry.getValue().describe(builder);
+        }
+
+        for (Map.Entry<String, ElementRules> entry : new TreeMap<>(methods).entrySet()) {
+            builder.append("\nmethod ").append(entry.getKey());
+            entry.getValue().describe(builder);
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+
+            for (byte value : digest) {
+                hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    ElementRules getAnnotations() {
+        return annotations;
+    }
+
+    ElementRules getField(String name) {
+        return fields.get(name);
+    }
+
+    List<ElementRules> getMethod(String name, String descriptor) {
+        List<ElementRules> matching = new ArrayList<>(2);
+        ElementRules overloads = methods.get(name);
+        ElementRules method = methods.get(name + descriptor);
+
+        if (overloads != null) {
+            matching.add(overloads);
+        }
+
+        if (method != null) {
+            matching.add(method);
+        }
+
+        return matching;
+    }
+}
@@ -0,0 +1,231 @@
+package me.hugmanrique.annotated.bytecode;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Constant pool of an existing class file. New constants are appended after the
+ * existing ones, so the indexes referenced by the rest of the class file stay valid.
+ *
+ * @author agent
+ */
+final class ConstantPool {
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private final byte[] classFile;
+    private final int start; // Offset of the first entry
+    private final int end; // Offset past the last entry
+    private final int[] offsets; // Offset of each entry, by constant index
+
+    private final ByteArrayOutputStream added = new ByteArrayOutputStream();
+    private final DataOutputStream addedOut = new DataOutputStream(added);
+    private final Map<Object, Integer> indexes = new HashMap<>(); // Constant value -> index
+    private boolean utf8Indexed;
+    private int size;
+
+    ConstantPool(byte[] classFile, int offset) {
+        this.classFile = classFile;
+        this.size = readUnsignedShort(classFile, offset);
+        this.offsets = new int[size];
+        this.start = offset + 2;
+
+        int position = start;
+
+        for (int i = 1; i < size; i++) {
+            offsets[i] = position;
+            int tag = classFile[position] & 0xFF;
+
+            switch (tag) {
+                case UTF8:
+                    position += 3 + readUnsignedShort(classFile, position + 1);
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    position += 5;
+                    break;
+                case LONG:
+                case DOUBLE:
+                    position += 9;
+                    i++; // Takes two entries
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    position += 3;
+                    break;
+                case 15: // MethodHandle
+                    position += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+
+        this.end = position;
+    }
+
+    static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    static int readInt(byte[] bytes, int offset) {
+        return (readUnsignedShort(bytes, offset) << 16) | readUnsignedShort(bytes, offset + 2);
+    }
+
+    /**
+     * @return the offset past the last existing entry
+     */
+    int getEnd() {
+        return end;
+    }
+
+    String getUtf8(int index) {
+        int offset = offsets[index];
+
+        if (classFile[offset] != UTF8) {
+            throw new IllegalArgumentException("Constant " + index + " is not a UTF8 entry");
+        }
+
+        try {
+            int length = readUnsignedShort(classFile, offset + 1);
+            return new DataInputStream(new ByteArrayInputStream(classFile, offset + 1, length + 2)).readUTF();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed UTF8 constant " + index, e);
+        }
+    }
+
+    /**
+     * @return the internal name of the referenced class
+     */
+    String getClassName(int classIndex) {
+        return getUtf8(readUnsignedShort(classFile, offsets[classIndex] + 1));
+    }
+
+    int utf8(String value) {
+        if (!utf8Indexed) {
+            for (int i = 1; i < offsets.length; i++) {
+                if (offsets[i] != 0 && classFile[offsets[i]] == UTF8) {
+                    indexes.putIfAbsent(getUtf8(i), i);
+                }
+            }
+
+            utf8Indexed = true;
+        }
+
+        Integer index = indexes.get(value);
+
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            addedOut.writeByte(UTF8);
+            addedOut.writeUTF(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return add(value, 1);
+    }
+
+    int integer(int value) {
+        Integer index = indexes.get(value);
+
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            addedOut.writeByte(INTEGER);
+            addedOut.writeInt(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return add(value, 1);
+    }
+
+    int floatValue(float value) {
+        Integer index = indexes.get(value);
+
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            addedOut.writeByte(FLOAT);
+            addedOut.writeFloat(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return add(value, 1);
+    }
+
+    int longValue(long value) {
+        Integer index = indexes.get(value);
+
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            addedOut.writeByte(LONG);
+            addedOut.writeLong(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return add(value, 2);
+    }
+
+    int doubleValue(double value) {
+        Integer index = indexes.get(value);
+
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            addedOut.writeByte(DOUBLE);
+            addedOut.writeDouble(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return add(value, 2);
+    }
+
+    private int add(Object value, int entries) {
+        int index = size;
+
+        if (index + entries > MAX_SIZE) {
+            throw new IllegalStateException("Constant pool is full");
+        }
+
+        size += entries;
+        indexes.put(value, index);
+
+        return index;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeShort(size);
+        out.write(classFile, start, end - start);
+        added.writeTo(out);
+    }
+}
@@ -0,0 +1,56 @@
+package me.hugmanrique.annotated.bytecode;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+
+/**
+ * Computes the class file descriptors of types and executables.
+ *
+ * @author agent
+ */
+final class Descriptors {
+    private Descriptors() {}
+
+    static String of(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        } else if (!type.isPrimitive()) {
+            return 'L' + type.getName().replace('.', '/') + ';';
+        } else if (type == int.class) {
+            return "I";
+        } else if (type == long.class) {
+            return "J";
+        } else if (type == boolean.class) {
+            return "Z";
+        } else if (type == byte.class) {
+            return "B";
+        } else if (type == char.class) {
+            return "C";
+        } else if (type == short.class) {
+            return "S";
+        } else if (type == float.class) {
+            return "F";
+        } else if (type == double.class) {
+            return "D";
+        }
+
+        return "V";
+    }
+
+    static String of(Executable executable) {
+        StringBuilder builder = new StringBuilder("(");
+
+        for (Class<?> parameterType : executable.getParameterTypes()) {
+            builder.append(of(parameterType));
+        }
+
+        Class<?> returnType = executable instanceof Method ? ((Method) executable).getReturnType() : void.class;
+
+        return builder.append(')').append(of(returnType)).toString();
+    }
+
+    static String nameOf(Executable executable) {
+        return executable instanceof Constructor ? "<init>" : executable.getName();
+    }
+}
@@ -0,0 +1,114 @@
+package me.hugmanrique.annotated.bytecode;
+
+import me.hugmanrique.annotated.Annotated;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.*;
+
+/**
+ * Ordered annotation changes to apply to the class file of an element.
+ * Only annotations with a {@link RetentionPolicy#RUNTIME} retention can be added,
+ * and an added annotation replaces any declared annotation of the same type.
+ *
+ * @author agent
+ */
+public final class ElementRules {
+    private final List<Object> operations = new ArrayList<>(); // Annotation to add, or Class to remove
+
+    ElementRules() {}
+
+    /**
+     * Adds the annotation to the element.
+     *
+     * @param annotation the annotation to add
+     * @return this rules instance
+     * @throws IllegalArgumentException if the annotation type is not retained at runtime
+     */
+    public ElementRules addAnnotation(Annotation annotation) {
+        Class<? extends Annotation> annotationClass = annotation.annotationType();
+        Retention retention = annotationClass.getAnnotation(Retention.class);
+
+        if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+            throw new IllegalArgumentException(annotationClass.getName() + " is not retained at runtime");
+        }
+
+        synchronized (operations) {
+            operations.add(annotation);
+        }
+
+        return this;
+    }
+
+    /**
+     * Creates an annotation with the passed elements and adds it to the element.
+     *
+     * @param annotationClass the annotation type
+     * @param elementsMap the named elements key-value representation
+     * @return this rules instance
+     * @throws IllegalArgumentException if the map contains an unknown element or a value of the wrong type,
+     *                                  or if the annotation type is not retained at runtime
+     * @throws java.lang.annotation.IncompleteAnnotationException if an element without a default value is missing
+     */
+    public <T extends Annotation> ElementRules addAnnotation(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        return addAnnotation(Annotated.annotationFactory().createAnnotation(annotationClass, elementsMap));
+    }
+
+    /**
+     * Removes the annotation with type {@code annotationClass} from the element.
+     *
+     * @param annotationClass the annotation type to be removed
+     * @return this rules instance
+     */
+    public ElementRules removeAnnotation(Class<? extends Annotation> annotationClass) {
+        Objects.requireNonNull(annotationClass, "annotation class");
+
+        synchronized (operations) {
+            operations.add(annotationClass);
+        }
+
+        return this;
+    }
+
+    List<Object> getOperations() {
+        synchronized (operations) {
+            return new ArrayList<>(operations);
+        }
+    }
+
+    void describe(StringBuilder builder) {
+        for (Object operation : getOperations()) {
+            if (operation instanceof Annotation) {
+                builder.append(" +").append(operation);
+            } else {
+                builder.append(" -").append(((Class<?>) operation).getName());
+            }
+        }
+    }
+
+    /**
+     * Returns a map that records the annotations put into and removed from it as rules.
+     */
+    Map<Class<? extends Annotation>, Annotation> recorder() {
+        return new AbstractMap<Class<? extends Annotation>, Annotation>() {
+            @Override
+            public Annotation put(Class<? extends Annotation> annotationClass, Annotation annotation) {
+                addAnnotation(annotation);
+                return null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Annotation remove(Object annotationClass) {
+                removeAnnotation((Class<? extends Annotation>) annotationClass);
+                return null;
+            }
+
+            @Override
+            public Set<Entry<Class<? extends Annotation>, Annotation>> entrySet() {
+                return Collections.emptySet();
+            }
+        };
+    }
+}
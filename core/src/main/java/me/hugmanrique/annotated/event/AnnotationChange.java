@@ -0,0 +1,72 @@
+package me.hugmanrique.annotated.event;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Objects;
+
+/**
+ * Describes the change of an annotation present on an element, as returned
+ * by {@link AnnotatedElement#getAnnotation(Class)}.
+ *
+ * @author agent
+ */
+public final class AnnotationChange {
+    public enum Type {
+        ADDED, REMOVED, REPLACED
+    }
+
+    private final AnnotatedElement element;
+    private final Class<? extends Annotation> annotationType;
+    private final Annotation previous;
+    private final Annotation current;
+
+    public AnnotationChange(AnnotatedElement element, Class<? extends Annotation> annotationType, Annotation previous, Annotation current) {
+        this.element = Objects.requireNonNull(element, "element");
+        this.annotationType = Objects.requireNonNull(annotationType, "annotation type");
+        this.previous = previous;
+        this.current = current;
+
+        if (previous == null && current == null) {
+            throw new IllegalArgumentException("Either the previous or current annotation must be present");
+        }
+    }
+
+    public AnnotatedElement getElement() {
+        return element;
+    }
+
+    public Class<? extends Annotation> getAnnotationType() {
+        return annotationType;
+    }
+
+    /**
+     * @return the annotation before the change, or {@code null} if it was added
+     */
+    public Annotation getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return the annotation after the change, or {@code null} if it was removed
+     */
+    public Annotation getCurrent() {
+        return current;
+    }
+
+    public Type getType() {
+        if (previous == null) {
+            return Type.ADDED;
+        }
+
+        return current == null ? Type.REMOVED : Type.REPLACED;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationChange{" +
+            "element=" + element +
+            ", annotationType=" + annotationType.getName() +
+            ", type=" + getType() +
+            '}';
+    }
+}
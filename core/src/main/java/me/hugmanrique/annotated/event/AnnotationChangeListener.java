@@ -0,0 +1,41 @@
+package me.hugmanrique.annotated.event;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Notified after the transformers publish new annotations, so caches derived
+ * from annotations can invalidate the affected entries only. Changes of
+ * {@link java.lang.annotation.Inherited} annotations are also reported for
+ * the known subclasses that inherit them.
+ *
+ * @author agent
+ * @see me.hugmanrique.annotated.Annotated#addChangeListener(AnnotationChangeListener)
+ */
+@FunctionalInterface
+public interface AnnotationChangeListener {
+
+    /**
+     * Called synchronously after a single publication with all its changes, which belong
+     * to the same element, before the edit returns. No internal lock is held, so listeners
+     * may edit annotations, but they delay the editing thread: when concurrent class edits
+     * are combined, they also delay the editors whose edits were published along with this one.
+     * Implementations must be thread-safe; slow listeners should be wrapped with {@link #async(Executor)}.
+     *
+     * @param changes the published changes, never empty
+     */
+    void annotationsChanged(List<AnnotationChange> changes);
+
+    /**
+     * Returns a listener that delivers the changes to this listener on the executor.
+     * The changes reported while a delivery is pending are batched together, and
+     * deliveries never overlap, so the changes are received in the order they were reported.
+     *
+     * @param executor the executor that runs the deliveries
+     * @return the asynchronous listener
+     */
+    default AnnotationChangeListener async(Executor executor) {
+        return new AsyncChangeListener(this, Objects.requireNonNull(executor, "executor"));
+    }
+}
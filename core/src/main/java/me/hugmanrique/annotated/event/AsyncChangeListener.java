@@ -0,0 +1,68 @@
+package me.hugmanrique.annotated.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queues the published changes and delivers them in batches on an executor.
+ *
+ * @author agent
+ */
+final class AsyncChangeListener implements AnnotationChangeListener {
+    private final AnnotationChangeListener delegate;
+    private final Executor executor;
+    private final Queue<AnnotationChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    AsyncChangeListener(AnnotationChangeListener delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void annotationsChanged(List<AnnotationChange> changes) {
+        pending.addAll(changes);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void deliver() {
+        try {
+            List<AnnotationChange> batch = new ArrayList<>();
+            AnnotationChange change;
+
+            while ((change = pending.poll()) != null) {
+                batch.add(change);
+            }
+
+            if (!batch.isEmpty()) {
+                delegate.annotationsChanged(batch);
+            }
+        } finally {
+            scheduled.set(false);
+            schedule(); // Changes queued after the last poll
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncChangeListener{" +
+            "delegate=" + delegate +
+            ", executor=" + executor +
+            '}';
+    }
+}
@@ -0,0 +1,361 @@
+package me.hugmanrique.annotated.factory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class file of a final class implementing an annotation interface.
+ * The class stores every element in a field assigned by a {@code (Object[])} constructor,
+ * caches its hash code and delegates {@code equals} and {@code toString} to {@link AnnotationSupport}.
+ * None of the generated methods branch, so no stack map frames are needed.
+ *
+ * @author agent
+ */
+final class AnnotationClassGenerator {
+    private static final int CLASS_VERSION = 52; // Java 8
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String SUPPORT = AnnotationSupport.class.getName().replace('.', '/');
+    private static final String HASH_CODE_FIELD = "hashCode$";
+
+    private final ConstantPool pool = new ConstantPool();
+    private final Class<? extends Annotation> annotationClass;
+    private final String className;
+    private final Method[] elements;
+
+    AnnotationClassGenerator(Class<? extends Annotation> annotationClass, String className, Method[] elements) {
+        this.annotationClass = annotationClass;
+        this.className = className.replace('.', '/');
+        this.elements = elements;
+    }
+
+    byte[] generate() {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(pool.classInfo(className));
+            out.writeShort(pool.classInfo(OBJECT));
+            out.writeShort(1); // Interfaces
+            out.writeShort(pool.classInfo(internalName(annotationClass)));
+
+            // Fields
+            out.writeShort(elements.length + 1);
+
+            for (Method element : elements) {
+                writeMember(out, ACC_PRIVATE | ACC_FINAL, element.getName(), descriptor(element.getReturnType()));
+                out.writeShort(0); // Attributes
+            }
+
+            writeMember(out, ACC_PRIVATE | ACC_FINAL, HASH_CODE_FIELD, "I");
+            out.writeShort(0);
+
+            // Methods
+            out.writeShort(elements.length + 5);
+            writeConstructor(out);
+
+            for (Method element : elements) {
+                writeAccessor(out, element);
+            }
+
+            writeAnnotationType(out);
+            writeHashCode(out);
+            writeEquals(out);
+            writeToString(out);
+
+            out.writeShort(0); // Class attributes
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(result);
+
+            header.writeInt(0xCAFEBABE);
+            header.writeShort(0); // Minor version
+            header.writeShort(CLASS_VERSION);
+            pool.writeTo(header);
+            body.writeTo(header);
+
+            return result.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeConstructor(DataOutputStream out) throws IOException {
+        Code code = new Code();
+
+        code.op(0x2A); // aload_0
+        code.op(0xB7).u2(pool.methodRef(OBJECT, "<init>", "()V")); // invokespecial
+
+        for (int i = 0; i < elements.length; i++) {
+            Class<?> type = elements[i].getReturnType();
+
+            code.op(0x2A); // aload_0
+            code.op(0x2B); // aload_1
+            code.pushInt(i);
+            code.op(0x32); // aaload
+
+            if (type.isPrimitive()) {
+                Class<?> wrapper = wrapperType(type);
+
+                code.op(0xC0).u2(pool.classInfo(internalName(wrapper))); // checkcast
+                code.op(0xB6).u2(pool.methodRef(internalName(wrapper), type.getName() + "Value", "()" + descriptor(type))); // invokevirtual
+            } else if (type != Object.class) {
+                code.op(0xC0).u2(pool.classInfo(internalName(type))); // checkcast
+            }
+
+            code.op(0xB5).u2(pool.fieldRef(className, elements[i].getName(), descriptor(type))); // putfield
+        }
+
+        code.op(0x2A); // aload_0
+        code.op(0x2A); // aload_0
+        code.op(0xB8).u2(pool.methodRef(SUPPORT, "hashCode", "(Ljava/lang/annotation/Annotation;)I")); // invokestatic
+        code.op(0xB5).u2(pool.fieldRef(className, HASH_CODE_FIELD, "I")); // putfield
+        code.op(0xB1); // return
+
+        writeMethod(out, ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", code, 4, 2);
+    }
+
+    private void writeAccessor(DataOutputStream out, Method element) throws IOException {
+        Class<?> type = element.getReturnType();
+        String descriptor = descriptor(type);
+        Code code = new Code();
+
+        code.op(0x2A); // aload_0
+        code.op(0xB4).u2(pool.fieldRef(className, element.getName(), descriptor)); // getfield
+
+        if (type.isArray()) {
+            // Arrays are mutable, return a copy like the JDK does
+            code.op(0xB6).u2(pool.methodRef(descriptor, "clone", "()Ljava/lang/Object;")); // invokevirtual
+            code.op(0xC0).u2(pool.classInfo(descriptor)); // checkcast
+        }
+
+        code.op(returnOpcode(type));
+
+        writeMethod(out, ACC_PUBLIC, element.getName(), "()" + descriptor, code, 2, 1);
+    }
+
+    private void writeAnnotationType(DataOutputStream out) throws IOException {
+        Code code = new Code();
+
+        code.op(0x13).u2(pool.classInfo(internalName(annotationClass))); // ldc_w
+        code.op(0xB0); // areturn
+
+        writeMethod(out, ACC_PUBLIC, "annotationType", "()Ljava/lang/Class;", code, 1, 1);
+    }
+
+    private void writeHashCode(DataOutputStream out) throws IOException {
+        Code code = new Code();
+
+        code.op(0x2A); // aload_0
+        code.op(0xB4).u2(pool.fieldRef(className, HASH_CODE_FIELD, "I")); // getfield
+        code.op(0xAC); // ireturn
+
+        writeMethod(out, ACC_PUBLIC, "hashCode", "()I", code, 1, 1);
+    }
+
+    private void writeEquals(DataOutputStream out) throws IOException {
+        Code code = new Code();
+
+        code.op(0x2A); // aload_0
+        code.op(0x2B); // aload_1
+        code.op(0xB8).u2(pool.methodRef(SUPPORT, "equals", "(Ljava/lang/annotation/Annotation;Ljava/lang/Object;)Z")); // invokestatic
+        code.op(0xAC); // ireturn
+
+        writeMethod(out, ACC_PUBLIC, "equals", "(Ljava/lang/Object;)Z", code, 2, 2);
+    }
+
+    private void writeToString(DataOutputStream out) throws IOException {
+        Code code = new Code();
+
+        code.op(0x2A); // aload_0
+        code.op(0xB8).u2(pool.methodRef(SUPPORT, "toString", "(Ljava/lang/annotation/Annotation;)Ljava/lang/String;")); // invokestatic
+        code.op(0xB0); // areturn
+
+        writeMethod(out, ACC_PUBLIC, "toString", "()Ljava/lang/String;", code, 1, 1);
+    }
+
+    private void writeMember(DataOutputStream out, int access, String name, String descriptor) throws IOException {
+        out.writeShort(access);
+        out.writeShort(pool.utf8(name));
+        out.writeShort(pool.utf8(descriptor));
+    }
+
+    private void writeMethod(DataOutputStream out, int access, String name, String descriptor,
+                             Code code, int maxStack, int maxLocals) throws IOException {
+        writeMember(out, access, name, descriptor);
+        out.writeShort(1); // Attributes
+
+        byte[] bytecode = code.toByteArray();
+
+        out.writeShort(pool.utf8("Code"));
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        out.writeShort(0); // Exception table
+        out.writeShort(0); // Code attributes
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == long.class) {
+            return 0xAD; // lreturn
+        } else if (type == float.class) {
+            return 0xAE; // freturn
+        } else if (type == double.class) {
+            return 0xAF; // dreturn
+        } else if (type.isPrimitive()) {
+            return 0xAC; // ireturn
+        }
+
+        return 0xB0; // areturn
+    }
+
+    static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type);
+        } else if (!type.isPrimitive()) {
+            return "L" + internalName(type) + ";";
+        } else if (type == boolean.class) {
+            return "Z";
+        } else if (type == long.class) {
+            return "J";
+        }
+
+        return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+    }
+
+    private static Class<?> wrapperType(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        }
+
+        return Double.class;
+    }
+
+    private static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        void pushInt(int value) {
+            if (value <= 5) {
+                op(0x03 + value); // iconst_<n>
+            } else if (value <= Byte.MAX_VALUE) {
+                op(0x10).op(value); // bipush
+            } else {
+                op(0x11).u2(value); // sipush
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            Integer index = indexes.get("U" + value);
+
+            if (index != null) {
+                return index;
+            }
+
+            out.writeByte(UTF8);
+            out.writeUTF(value);
+            return register("U" + value);
+        }
+
+        int classInfo(String internalName) throws IOException {
+            return reference(CLASS, "C" + internalName, utf8(internalName), -1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) throws IOException {
+            return reference(FIELD_REF, "F" + owner + '.' + name + ':' + descriptor, classInfo(owner), nameAndType(name, descriptor));
+        }
+
+        int methodRef(String owner, String name, String descriptor) throws IOException {
+            return reference(METHOD_REF, "M" + owner + '.' + name + descriptor, classInfo(owner), nameAndType(name, descriptor));
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            return reference(NAME_AND_TYPE, "N" + name + ':' + descriptor, utf8(name), utf8(descriptor));
+        }
+
+        private int reference(int tag, String key, int first, int second) throws IOException {
+            Integer index = indexes.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            out.writeByte(tag);
+            out.writeShort(first);
+
+            if (second >= 0) {
+                out.writeShort(second);
+            }
+
+            return register(key);
+        }
+
+        private int register(String key) {
+            int index = count++;
+            indexes.put(key, index);
+            return index;
+        }
+
+        void writeTo(DataOutputStream header) throws IOException {
+            header.writeShort(count);
+            bytes.writeTo(header);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package me.hugmanrique.annotated.factory;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.*;
+
+/**
+ * Describes the elements of an annotation type. Descriptors are computed once per
+ * annotation type and used to validate and complete elements maps.
+ *
+ * @author agent
+ */
+public final class AnnotationDescriptor {
+    private static final ClassValue<AnnotationDescriptor> descriptors = new ClassValue<AnnotationDescriptor>() {
+        @Override
+        protected AnnotationDescriptor computeValue(Class<?> annotationClass) {
+            return new AnnotationDescriptor(annotationClass.asSubclass(Annotation.class));
+        }
+    };
+
+    private final Class<? extends Annotation> annotationType;
+    private final Method[] elements; // Sorted by name
+    private final Object[] defaultValues;
+    private final Map<String, Integer> indexes;
+    private final List<String> elementNames;
+    private final boolean inherited;
+    private final Class<? extends Annotation> containerType;
+
+    private AnnotationDescriptor(Class<? extends Annotation> annotationType) {
+        if (!annotationType.isAnnotation()) {
+            throw new IllegalArgumentException(annotationType + " is not an annotation type");
+        }
+
+        this.annotationType = annotationType;
+        this.elements = Arrays.stream(annotationType.getDeclaredMethods())
+            .filter(method -> !Modifier.isStatic(method.getModifiers()) && !method.isSynthetic() && method.getParameterCount() == 0)
+            .sorted(Comparator.comparing(Method::getName))
+            .toArray(Method[]::new);
+        this.defaultValues = new Object[elements.length];
+        this.indexes = new HashMap<>();
+
+        List<String> names = new ArrayList<>(elements.length);
+
+        for (int i = 0; i < elements.length; i++) {
+            defaultValues[i] = elements[i].getDefaultValue();
+            indexes.put(elements[i].getName(), i);
+            names.add(elements[i].getName());
+        }
+
+        this.elementNames = Collections.unmodifiableList(names);
+        this.inherited = annotationType.isAnnotationPresent(Inherited.class);
+
+        Repeatable repeatable = annotationType.getAnnotation(Repeatable.class);
+        this.containerType = repeatable != null ? repeatable.value() : null;
+
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            for (Method method : elements) {
+                try {
+                    method.setAccessible(true);
+                } catch (RuntimeException e) {
+                    // Encapsulated by the module system, public elements are still accessible
+                }
+            }
+
+            return null;
+        });
+    }
+
+    /**
+     * Returns the cached descriptor of the passed annotation type.
+     *
+     * @param annotationType the annotation type
+     * @return the annotation type descriptor
+     * @throws IllegalArgumentException if the class is not an annotation type
+     */
+    public static AnnotationDescriptor of(Class<? extends Annotation> annotationType) {
+        return descriptors.get(Objects.requireNonNull(annotationType, "annotation type"));
+    }
+
+    public Class<? extends Annotation> getAnnotationType() {
+        return annotationType;
+    }
+
+    /**
+     * @return the element names of the annotation type, sorted by name
+     */
+    public List<String> getElementNames() {
+        return elementNames;
+    }
+
+    /**
+     * @return whether the annotation type is meta-annotated with {@link Inherited}
+     */
+    public boolean isInherited() {
+        return inherited;
+    }
+
+    /**
+     * @return the containing annotation type if the annotation type is {@link Repeatable}, {@code null} otherwise
+     */
+    public Class<? extends Annotation> getContainerType() {
+        return containerType;
+    }
+
+    /**
+     * @param name the element name
+     * @return the return type of the element
+     * @throws IllegalArgumentException if the annotation type has no such element
+     */
+    public Class<?> getElementType(String name) {
+        return elements[indexOf(name)].getReturnType();
+    }
+
+    /**
+     * @param name the element name
+     * @return the default value of the element, or {@code null} if it has none
+     * @throws IllegalArgumentException if the annotation type has no such element
+     */
+    public Object getDefaultValue(String name) {
+        return defaultValues[indexOf(name)];
+    }
+
+    /**
+     * Validates the passed elements map and fills in the missing default values.
+     *
+     * @param elementsMap the named elements key-value representation
+     * @return a new complete elements map
+     * @throws IllegalArgumentException if the map contains an unknown element or a value of the wrong type
+     * @throws IncompleteAnnotationException if an element without a default value is missing
+     */
+    public Map<String, Object> complete(Map<String, Object> elementsMap) {
+        Object[] values = values(elementsMap);
+        Map<String, Object> completeMap = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+
+        for (int i = 0; i < values.length; i++) {
+            completeMap.put(elements[i].getName(), values[i]);
+        }
+
+        return completeMap;
+    }
+
+    /**
+     * Validates the passed elements map and returns the element values
+     * in {@link #getElementNames()} order, including default values.
+     *
+     * @param elementsMap the named elements key-value representation
+     * @return the element values
+     * @throws IllegalArgumentException if the map contains an unknown element or a value of the wrong type
+     * @throws IncompleteAnnotationException if an element without a default value is missing
+     */
+    public Object[] values(Map<String, Object> elementsMap) {
+        Objects.requireNonNull(elementsMap, "elements map");
+
+        Object[] values = new Object[elements.length];
+        int found = 0;
+
+        for (int i = 0; i < elements.length; i++) {
+            Method element = elements[i];
+            Object value = elementsMap.get(element.getName());
+
+            if (value == null) {
+                value = defaultValues[i];
+
+                if (value == null) {
+                    throw new IncompleteAnnotationException(annotationType, element.getName());
+                }
+            } else {
+                found++;
+
+                if (!isInstance(element.getReturnType(), value)) {
+                    throw new IllegalArgumentException("Element " + element.getName() + " of " + annotationType.getName()
+                        + " must be of type " + element.getReturnType().getName() + ", got " + value.getClass().getName());
+                }
+            }
+
+            values[i] = value;
+        }
+
+        if (found != elementsMap.size()) {
+            elementsMap.keySet().forEach(this::indexOf); // Throws on the unknown element
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the value of the element at {@code index} in {@link #getElementNames()} order.
+     *
+     * @param annotation an annotation of this type
+     * @param index the element index
+     * @return the element value
+     */
+    public Object getValue(Annotation annotation, int index) {
+        try {
+            return elements[index].invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Method[] getElements() {
+        return elements;
+    }
+
+    private int indexOf(String name) {
+        Integer index = indexes.get(name);
+
+        if (index == null) {
+            throw new IllegalArgumentException(annotationType.getName() + " has no element named " + name);
+        }
+
+        return index;
+    }
+
+    private static boolean isInstance(Class<?> type, Object value) {
+        if (!type.isPrimitive()) {
+            return type.isInstance(value);
+        }
+
+        if (type == boolean.class) {
+            return value instanceof Boolean;
+        } else if (type == byte.class) {
+            return value instanceof Byte;
+        } else if (type == char.class) {
+            return value instanceof Character;
+        } else if (type == short.class) {
+            return value instanceof Short;
+        } else if (type == int.class) {
+            return value instanceof Integer;
+        } else if (type == long.class) {
+            return value instanceof Long;
+        } else if (type == float.class) {
+            return value instanceof Float;
+        }
+
+        return value instanceof Double;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationDescriptor{" + annotationType.getName() + elementNames + "}";
+    }
+}
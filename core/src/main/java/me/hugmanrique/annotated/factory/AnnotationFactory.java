@@ -0,0 +1,60 @@
+package me.hugmanrique.annotated.factory;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Creates annotation instances from a {@code Map<String, Object>}
+ * representation of their elements.
+ *
+ * @author agent
+ */
+public interface AnnotationFactory {
+
+    /**
+     * Creates an annotation of type {@code annotationClass} with the passed elements.
+     *
+     * @param annotationClass the annotation type
+     * @param elementsMap the named elements key-value representation
+     * @return the created annotation
+     * @throws IllegalArgumentException if the map contains an unknown element or a value of the wrong type
+     * @throws java.lang.annotation.IncompleteAnnotationException if an element without a default value is missing
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    <T extends Annotation> T createAnnotation(Class<T> annotationClass, Map<String, Object> elementsMap);
+
+    /**
+     * @return a factory that creates {@link java.lang.reflect.Proxy} annotations
+     *         backed by the JDK annotation invocation handler
+     */
+    static AnnotationFactory proxy() {
+        return ProxyAnnotationFactory.INSTANCE;
+    }
+
+    /**
+     * Returns a factory that generates (and caches) a final class per annotation type,
+     * storing each element in a field. Element accesses on the created annotations
+     * are plain field reads. Falls back to {@link #proxy()} for annotation types
+     * whose class loader cannot see this library, such as JDK annotations.
+     *
+     * @return a factory that creates instances of generated annotation classes
+     */
+    static AnnotationFactory generated() {
+        return GeneratedAnnotationFactory.INSTANCE;
+    }
+
+    /**
+     * Returns a factory that shares a single instance between all annotations of
+     * the same type and element values, creating missing instances with {@code delegate}.
+     * Each annotation type caches up to {@code maximumSize} softly referenced instances,
+     * evicting the least recently used one when full.
+     *
+     * @param delegate the factory used to create missing annotations
+     * @param maximumSize the maximum number of cached instances per annotation type
+     * @return an interning annotation factory
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    static AnnotationFactory interning(AnnotationFactory delegate, int maximumSize) {
+        return new InterningAnnotationFactory(delegate, maximumSize);
+    }
+}
@@ -0,0 +1,169 @@
+package me.hugmanrique.annotated.factory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Implements the {@link Annotation#equals(Object)}, {@link Annotation#hashCode()} and
+ * {@link Annotation#toString()} contracts for any annotation instance.
+ * Generated annotation classes delegate to these methods, so this class must remain public.
+ *
+ * @author agent
+ */
+public final class AnnotationSupport {
+    private AnnotationSupport() {}
+
+    public static int hashCode(Annotation annotation) {
+        int hashCode = 0;
+
+        for (Method method : AnnotationDescriptor.of(annotation.annotationType()).getElements()) {
+            hashCode += (127 * method.getName().hashCode()) ^ memberValueHashCode(memberValue(method, annotation));
+        }
+
+        return hashCode;
+    }
+
+    public static boolean equals(Annotation annotation, Object other) {
+        if (annotation == other) {
+            return true;
+        }
+
+        Class<? extends Annotation> annotationClass = annotation.annotationType();
+
+        if (!annotationClass.isInstance(other)) {
+            return false;
+        }
+
+        for (Method method : AnnotationDescriptor.of(annotationClass).getElements()) {
+            if (!memberValueEquals(memberValue(method, annotation), memberValue(method, other))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static String toString(Annotation annotation) {
+        Class<? extends Annotation> annotationClass = annotation.annotationType();
+        StringJoiner joiner = new StringJoiner(", ", "@" + annotationClass.getName() + "(", ")");
+
+        for (Method method : AnnotationDescriptor.of(annotationClass).getElements()) {
+            joiner.add(method.getName() + "=" + memberValueToString(memberValue(method, annotation)));
+        }
+
+        return joiner.toString();
+    }
+
+    private static Object memberValue(Method method, Object annotation) {
+        try {
+            return method.invoke(annotation);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int memberValueHashCode(Object value) {
+        Class<?> type = value.getClass();
+
+        if (!type.isArray()) {
+            return value.hashCode();
+        }
+
+        if (type == byte[].class) {
+            return Arrays.hashCode((byte[]) value);
+        } else if (type == char[].class) {
+            return Arrays.hashCode((char[]) value);
+        } else if (type == double[].class) {
+            return Arrays.hashCode((double[]) value);
+        } else if (type == float[].class) {
+            return Arrays.hashCode((float[]) value);
+        } else if (type == int[].class) {
+            return Arrays.hashCode((int[]) value);
+        } else if (type == long[].class) {
+            return Arrays.hashCode((long[]) value);
+        } else if (type == short[].class) {
+            return Arrays.hashCode((short[]) value);
+        } else if (type == boolean[].class) {
+            return Arrays.hashCode((boolean[]) value);
+        }
+
+        return Arrays.hashCode((Object[]) value);
+    }
+
+    private static boolean memberValueEquals(Object value, Object other) {
+        Class<?> type = value.getClass();
+
+        if (!type.isArray()) {
+            return value.equals(other);
+        }
+
+        if (value instanceof Object[] && other instanceof Object[]) {
+            return Arrays.equals((Object[]) value, (Object[]) other);
+        }
+
+        if (other.getClass() != type) {
+            return false;
+        }
+
+        if (type == byte[].class) {
+            return Arrays.equals((byte[]) value, (byte[]) other);
+        } else if (type == char[].class) {
+            return Arrays.equals((char[]) value, (char[]) other);
+        } else if (type == double[].class) {
+            return Arrays.equals((double[]) value, (double[]) other);
+        } else if (type == float[].class) {
+            return Arrays.equals((float[]) value, (float[]) other);
+        } else if (type == int[].class) {
+            return Arrays.equals((int[]) value, (int[]) other);
+        } else if (type == long[].class) {
+            return Arrays.equals((long[]) value, (long[]) other);
+        } else if (type == short[].class) {
+            return Arrays.equals((short[]) value, (short[]) other);
+        }
+
+        return Arrays.equals((boolean[]) value, (boolean[]) other);
+    }
+
+    private static String memberValueToString(Object value) {
+        Class<?> type = value.getClass();
+
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName() + ".class";
+        } else if (value instanceof String) {
+            return '"' + (String) value + '"';
+        } else if (!type.isArray()) {
+            return value.toString();
+        }
+
+        if (type == byte[].class) {
+            return Arrays.toString((byte[]) value);
+        } else if (type == char[].class) {
+            return Arrays.toString((char[]) value);
+        } else if (type == double[].class) {
+            return Arrays.toString((double[]) value);
+        } else if (type == float[].class) {
+            return Arrays.toString((float[]) value);
+        } else if (type == int[].class) {
+            return Arrays.toString((int[]) value);
+        } else if (type == long[].class) {
+            return Arrays.toString((long[]) value);
+        } else if (type == short[].class) {
+            return Arrays.toString((short[]) value);
+        } else if (type == boolean[].class) {
+            return Arrays.toString((boolean[]) value);
+        }
+
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+
+        for (Object element : (Object[]) value) {
+            joiner.add(memberValueToString(element));
+        }
+
+        return joiner.toString();
+    }
+}
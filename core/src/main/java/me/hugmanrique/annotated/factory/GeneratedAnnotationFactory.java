@@ -0,0 +1,155 @@
+package me.hugmanrique.annotated.factory;
+
+import me.hugmanrique.annotated.Annotated;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates annotations as instances of a generated final class per annotation type.
+ *
+ * @author agent
+ */
+final class GeneratedAnnotationFactory implements AnnotationFactory {
+    static final GeneratedAnnotationFactory INSTANCE = new GeneratedAnnotationFactory();
+
+    private static final String CLASS_NAME_SUFFIX = "$$AnnotatedImpl";
+    private static final AtomicInteger classCounter = new AtomicInteger();
+    private final ClassValue<Implementation> implementations = new ClassValue<Implementation>() {
+        @Override
+        protected Implementation computeValue(Class<?> annotationClass) {
+            return AccessController.doPrivileged((PrivilegedAction<Implementation>) () -> generate(annotationClass));
+        }
+    };
+
+    private GeneratedAnnotationFactory() {}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Annotation> T createAnnotation(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        Implementation implementation = implementations.get(annotationClass);
+
+        if (implementation.constructor == null) {
+            return ProxyAnnotationFactory.INSTANCE.createAnnotation(annotationClass, elementsMap);
+        }
+
+        Object[] values = AnnotationDescriptor.of(annotationClass).values(elementsMap);
+
+        try {
+            return (T) (Annotation) implementation.constructor.invokeExact(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static Implementation generate(Class<?> annotationClass) {
+        Method[] elements = AnnotationDescriptor.of(annotationClass.asSubclass(Annotation.class)).getElements();
+
+        if (!canGenerate(annotationClass, elements)) {
+            return new Implementation(null);
+        }
+
+        String className = annotationClass.getName() + CLASS_NAME_SUFFIX + classCounter.incrementAndGet();
+        byte[] bytes = new AnnotationClassGenerator(annotationClass.asSubclass(Annotation.class), className, elements).generate();
+
+        try {
+            Class<?> implementationClass = (Class<?>) ClassDefiner.defineClass.invokeExact(annotationClass.getClassLoader(),
+                className, bytes, 0, bytes.length, annotationClass.getProtectionDomain());
+            MethodHandle constructor = MethodHandles.publicLookup()
+                .findConstructor(implementationClass, MethodType.methodType(void.class, Object[].class))
+                .asType(MethodType.methodType(Annotation.class, Object[].class));
+
+            return new Implementation(constructor);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Implementation(null);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Checks that the generated class can be defined in the annotation class loader
+     * and that it can link against {@link AnnotationSupport} and every element type.
+     */
+    private static boolean canGenerate(Class<?> annotationClass, Method[] elements) {
+        ClassLoader loader = annotationClass.getClassLoader();
+
+        if (ClassDefiner.defineClass == null || loader == null || annotationClass.getName().startsWith("java.")) {
+            return false;
+        }
+
+        try {
+            if (Class.forName(AnnotationSupport.class.getName(), false, loader) != AnnotationSupport.class) {
+                return false;
+            }
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        for (Method element : elements) {
+            Class<?> type = element.getReturnType();
+
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+
+            boolean samePackage = type.getClassLoader() == loader && packageName(type).equals(packageName(annotationClass));
+
+            if (!type.isPrimitive() && !Modifier.isPublic(type.getModifiers()) && !samePackage) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String packageName(Class<?> type) {
+        String name = type.getName();
+        int index = name.lastIndexOf('.');
+
+        return index == -1 ? "" : name.substring(0, index);
+    }
+
+    private static final class Implementation {
+        private final MethodHandle constructor; // (Object[]) -> Annotation
+
+        private Implementation(MethodHandle constructor) {
+            this.constructor = constructor;
+        }
+    }
+
+    /**
+     * Holds the {@code ClassLoader#defineClass} handle, initialized on first use so that creating
+     * the factory doesn't select the {@link Annotated#accessBackend() access backend}.
+     */
+    private static final class ClassDefiner {
+        // (ClassLoader, String, byte[], int, int, ProtectionDomain) -> Class, null if every annotation type falls back to proxies
+        private static final MethodHandle defineClass;
+
+        static {
+            MethodHandle handle;
+
+            try {
+                Method method = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+                handle = Annotated.accessBackend().privateLookupIn(ClassLoader.class).unreflect(method);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                handle = null;
+            }
+
+            defineClass = handle;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package me.hugmanrique.annotated.factory;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Returns a shared instance for annotations of the same type and element values.
+ * Each annotation type keeps a bounded, least recently used cache whose values
+ * are softly referenced, so unused instances can be reclaimed under memory pressure.
+ *
+ * @author agent
+ */
+final class InterningAnnotationFactory implements AnnotationFactory {
+    private final AnnotationFactory delegate;
+    private final int maximumSize;
+
+    private final ClassValue<Cache> caches = new ClassValue<Cache>() {
+        @Override
+        protected Cache computeValue(Class<?> annotationClass) {
+            return new Cache(maximumSize);
+        }
+    };
+
+    InterningAnnotationFactory(AnnotationFactory delegate, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive, got " + maximumSize);
+        }
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public <T extends Annotation> T createAnnotation(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        AnnotationDescriptor descriptor = AnnotationDescriptor.of(annotationClass);
+        Key key = new Key(descriptor.values(elementsMap));
+        Cache cache = caches.get(annotationClass);
+
+        Annotation annotation = cache.get(key);
+
+        if (annotation == null) {
+            annotation = cache.putIfAbsent(key, delegate.createAnnotation(annotationClass, key.toMap(descriptor)));
+        }
+
+        return annotationClass.cast(annotation);
+    }
+
+    /**
+     * Normalized element values of an annotation, in descriptor order.
+     */
+    private static final class Key {
+        private final Object[] values;
+        private final int hashCode;
+
+        private Key(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = copyArray(values[i]); // The caller may modify its arrays later on
+            }
+
+            this.values = values;
+            this.hashCode = Arrays.deepHashCode(values);
+        }
+
+        private Map<String, Object> toMap(AnnotationDescriptor descriptor) {
+            List<String> names = descriptor.getElementNames();
+            Map<String, Object> elementsMap = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+
+            for (int i = 0; i < values.length; i++) {
+                elementsMap.put(names.get(i), values[i]);
+            }
+
+            return elementsMap;
+        }
+
+        private static Object copyArray(Object value) {
+            if (value instanceof Object[]) {
+                return ((Object[]) value).clone();
+            } else if (value instanceof byte[]) {
+                return ((byte[]) value).clone();
+            } else if (value instanceof char[]) {
+                return ((char[]) value).clone();
+            } else if (value instanceof double[]) {
+                return ((double[]) value).clone();
+            } else if (value instanceof float[]) {
+                return ((float[]) value).clone();
+            } else if (value instanceof int[]) {
+                return ((int[]) value).clone();
+            } else if (value instanceof long[]) {
+                return ((long[]) value).clone();
+            } else if (value instanceof short[]) {
+                return ((short[]) value).clone();
+            } else if (value instanceof boolean[]) {
+                return ((boolean[]) value).clone();
+            }
+
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof Key && Arrays.deepEquals(values, ((Key) other).values));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Cache {
+        private final Map<Key, SoftReference<Annotation>> entries;
+
+        private Cache(int maximumSize) {
+            this.entries = new LinkedHashMap<Key, SoftReference<Annotation>>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, SoftReference<Annotation>> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        synchronized Annotation get(Key key) {
+            SoftReference<Annotation> reference = entries.get(key);
+
+            return reference != null ? reference.get() : null;
+        }
+
+        synchronized Annotation putIfAbsent(Key key, Annotation annotation) {
+            Annotation existing = get(key);
+
+            if (existing != null) {
+                return existing; // Created concurrently by another thread
+            }
+
+            entries.put(key, new SoftReference<>(annotation));
+            return annotation;
+        }
+    }
+}
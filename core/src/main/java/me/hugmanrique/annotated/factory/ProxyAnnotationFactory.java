@@ -0,0 +1,90 @@
+package me.hugmanrique.annotated.factory;
+
+import me.hugmanrique.annotated.Annotated;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+
+/**
+ * Creates annotations as {@link Proxy} instances backed by the JDK
+ * {@code AnnotationInvocationHandler}.
+ *
+ * @author agent
+ */
+final class ProxyAnnotationFactory implements AnnotationFactory {
+    static final ProxyAnnotationFactory INSTANCE = new ProxyAnnotationFactory();
+
+    private ProxyAnnotationFactory() {}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Annotation> T createAnnotation(final Class<T> annotationClass, final Map<String, Object> elementsMap) {
+        return (T) AccessController.doPrivileged((PrivilegedAction<Annotation>) () -> {
+            InvocationHandler handler = newInvocationHandler(annotationClass, AnnotationDescriptor.of(annotationClass).complete(elementsMap));
+
+            return (Annotation) Proxy.newProxyInstance(annotationClass.getClassLoader(), new Class[] { annotationClass }, handler);
+        });
+    }
+
+    private static InvocationHandler newInvocationHandler(Class<? extends Annotation> annotationClass, Map<String, Object> elementsMap) {
+        try {
+            if (InvocationHandlers.constructorHandle != null) {
+                return (InvocationHandler) InvocationHandlers.constructorHandle.invokeExact((Class<?>) annotationClass, elementsMap);
+            }
+
+            return (InvocationHandler) InvocationHandlers.constructor.newInstance(annotationClass, elementsMap);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Holds the {@code AnnotationInvocationHandler} accessors, initialized on first use
+     * so that creating the factory doesn't select the {@link Annotated#accessBackend() access backend}.
+     */
+    private static final class InvocationHandlers {
+        private static final Constructor<?> constructor;
+        private static final MethodHandle constructorHandle; // (Class, Map) -> InvocationHandler
+
+        static {
+            Class<?> annotationInvocationHandlerClass;
+
+            try {
+                annotationInvocationHandlerClass = Class.forName("sun.reflect.annotation.AnnotationInvocationHandler");
+                constructor = annotationInvocationHandlerClass.getDeclaredConstructor(Class.class, Map.class);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+
+            MethodHandle handle;
+
+            try {
+                handle = Annotated.accessBackend().privateLookupIn(annotationInvocationHandlerClass)
+                    .unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(InvocationHandler.class, Class.class, Map.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                handle = null; // Fall back to reflection
+
+                try {
+                    constructor.setAccessible(true);
+                } catch (RuntimeException ignored) {
+                    // Encapsulated by the module system, creating annotations will fail
+                }
+            }
+
+            constructorHandle = handle;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package me.hugmanrique.annotated.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+
+/**
+ * @author agent
+ */
+final class CompositeTransformListener implements TransformListener {
+    private final TransformListener[] listeners;
+
+    CompositeTransformListener(TransformListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void annotationsEdited(AnnotatedElement element, int added, int removed, int retries, long durationNanos) {
+        for (TransformListener listener : listeners) {
+            listener.annotationsEdited(element, added, removed, retries, durationNanos);
+        }
+    }
+
+    @Override
+    public void staleAnnotationData(Class<?> clazz) {
+        for (TransformListener listener : listeners) {
+            listener.staleAnnotationData(clazz);
+        }
+    }
+
+    @Override
+    public void annotationCreated(Class<? extends Annotation> annotationClass) {
+        for (TransformListener listener : listeners) {
+            listener.annotationCreated(annotationClass);
+        }
+    }
+}
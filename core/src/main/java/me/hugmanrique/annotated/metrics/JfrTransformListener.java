@@ -0,0 +1,79 @@
+package me.hugmanrique.annotated.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.lang.reflect.AnnotatedElement;
+
+/**
+ * Commits a JFR event per edit and stale annotation data detection.
+ * Only loaded by {@link TransformListener#jfr()} once JFR is known to be available.
+ *
+ * @author agent
+ */
+final class JfrTransformListener implements TransformListener {
+
+    @Override
+    public void annotationsEdited(AnnotatedElement element, int added, int removed, int retries, long durationNanos) {
+        AnnotationEditEvent event = new AnnotationEditEvent();
+
+        if (event.shouldCommit()) {
+            event.element = element.toString();
+            event.added = added;
+            event.removed = removed;
+            event.retries = retries;
+            event.editDuration = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void staleAnnotationData(Class<?> clazz) {
+        StaleAnnotationDataEvent event = new StaleAnnotationDataEvent();
+
+        if (event.shouldCommit()) {
+            event.redefinedClass = clazz;
+            event.commit();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JfrTransformListener";
+    }
+
+    @Name("me.hugmanrique.annotated.AnnotationEdit")
+    @Label("Annotation Edit")
+    @Category("Annotated")
+    @Description("The annotations of an element were replaced")
+    static final class AnnotationEditEvent extends Event {
+        @Label("Element")
+        String element;
+
+        @Label("Added Annotations")
+        int added;
+
+        @Label("Removed Annotations")
+        int removed;
+
+        @Label("CAS Retries")
+        int retries;
+
+        @Label("Edit Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long editDuration;
+    }
+
+    @Name("me.hugmanrique.annotated.StaleAnnotationData")
+    @Label("Stale Annotation Data")
+    @Category("Annotated")
+    @Description("A class was redefined while its annotations were being edited")
+    static final class StaleAnnotationDataEvent extends Event {
+        @Label("Redefined Class")
+        Class<?> redefinedClass;
+    }
+}
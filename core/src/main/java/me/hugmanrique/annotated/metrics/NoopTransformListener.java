@@ -0,0 +1,15 @@
+package me.hugmanrique.annotated.metrics;
+
+/**
+ * @author agent
+ */
+final class NoopTransformListener implements TransformListener {
+    static final NoopTransformListener INSTANCE = new NoopTransformListener();
+
+    private NoopTransformListener() {}
+
+    @Override
+    public String toString() {
+        return "NoopTransformListener";
+    }
+}
@@ -0,0 +1,84 @@
+package me.hugmanrique.annotated.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Receives the events of the annotation transformers, such as completed edits
+ * and compare-and-set retries. Listeners are called synchronously and must be
+ * thread-safe and fast. Member edit events are reported on the editing thread, but
+ * the events of concurrent class edits may be reported on the thread that published
+ * them on behalf of the others. Edit events are reported after the edit was published,
+ * so their exceptions are passed to the uncaught exception handler of the reporting
+ * thread instead of failing the edit.
+ * <p>
+ * No event is computed while the {@link #noop()} listener is installed.
+ *
+ * @author agent
+ * @see me.hugmanrique.annotated.Annotated#setTransformListener(TransformListener)
+ */
+public interface TransformListener {
+
+    /**
+     * Called after the annotations of an element were atomically replaced.
+     *
+     * @param element the edited element
+     * @param added the number of declared annotations added or replaced
+     * @param removed the number of declared annotations removed
+     * @param retries the number of failed compare-and-set attempts
+     * @param durationNanos the edit duration in nanoseconds, including retries
+     */
+    default void annotationsEdited(AnnotatedElement element, int added, int removed, int retries, long durationNanos) {}
+
+    /**
+     * Called when the class was redefined while its annotations were being edited,
+     * which would make the JDK discard the installed annotation data. The edit is retried.
+     *
+     * @param clazz the redefined class
+     */
+    default void staleAnnotationData(Class<?> clazz) {}
+
+    /**
+     * Called after the transformers create an annotation from its elements map.
+     *
+     * @param annotationClass the annotation type
+     */
+    default void annotationCreated(Class<? extends Annotation> annotationClass) {}
+
+    /**
+     * @return a listener that ignores all events
+     */
+    static TransformListener noop() {
+        return NoopTransformListener.INSTANCE;
+    }
+
+    /**
+     * @param listeners the listeners to notify
+     * @return a listener that forwards every event to the passed listeners, in order
+     */
+    static TransformListener compose(TransformListener... listeners) {
+        TransformListener[] copy = listeners.clone();
+        Arrays.asList(copy).forEach(listener -> Objects.requireNonNull(listener, "listener"));
+
+        return new CompositeTransformListener(copy);
+    }
+
+    /**
+     * Returns a listener that commits {@code me.hugmanrique.annotated.AnnotationEdit}
+     * and {@code me.hugmanrique.annotated.StaleAnnotationData} Java Flight Recorder events.
+     *
+     * @return a listener that records JFR events
+     * @throws UnsupportedOperationException if the running JVM doesn't support JFR events
+     */
+    static TransformListener jfr() {
+        try {
+            Class.forName("jdk.jfr.Event");
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("JFR events are not supported by this JVM", e);
+        }
+
+        return new JfrTransformListener();
+    }
+}
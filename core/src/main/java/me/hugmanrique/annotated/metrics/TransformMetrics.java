@@ -0,0 +1,146 @@
+package me.hugmanrique.annotated.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.AnnotatedElement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events of the annotation transformers and records the edit latencies.
+ * Install it with {@link me.hugmanrique.annotated.Annotated#setTransformListener(TransformListener)}
+ * and optionally expose it through JMX with {@link #registerMBean()}.
+ *
+ * @author agent
+ */
+public final class TransformMetrics implements TransformListener, TransformMetricsMXBean {
+    public static final String OBJECT_NAME = "me.hugmanrique.annotated:type=TransformMetrics";
+
+    private final LongAdder edits = new LongAdder();
+    private final LongAdder addedAnnotations = new LongAdder();
+    private final LongAdder removedAnnotations = new LongAdder();
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder staleAnnotationData = new LongAdder();
+    private final LongAdder createdAnnotations = new LongAdder();
+    private final LatencyHistogram editLatencies = new LatencyHistogram();
+
+    @Override
+    public void annotationsEdited(AnnotatedElement element, int added, int removed, int retries, long durationNanos) {
+        edits.increment();
+        addedAnnotations.add(added);
+        removedAnnotations.add(removed);
+        casRetries.add(retries);
+        editLatencies.record(durationNanos);
+    }
+
+    @Override
+    public void staleAnnotationData(Class<?> clazz) {
+        staleAnnotationData.increment();
+    }
+
+    @Override
+    public void annotationCreated(Class<? extends Annotation> annotationClass) {
+        createdAnnotations.increment();
+    }
+
+    /**
+     * Registers these metrics in the platform MBean server under {@link #OBJECT_NAME}.
+     *
+     * @return the name of the registered MBean
+     * @throws IllegalStateException if the MBean cannot be registered, for example if another one is registered
+     */
+    public ObjectName registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            server.registerMBean(this, name);
+
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the transform metrics MBean", e);
+        }
+    }
+
+    /**
+     * @return the latencies of the completed edits, in nanoseconds
+     */
+    public LatencyHistogram getEditLatencies() {
+        return editLatencies;
+    }
+
+    @Override
+    public long getEdits() {
+        return edits.sum();
+    }
+
+    @Override
+    public long getAddedAnnotations() {
+        return addedAnnotations.sum();
+    }
+
+    @Override
+    public long getRemovedAnnotations() {
+        return removedAnnotations.sum();
+    }
+
+    @Override
+    public long getCasRetries() {
+        return casRetries.sum();
+    }
+
+    @Override
+    public long getStaleAnnotationData() {
+        return staleAnnotationData.sum();
+    }
+
+    @Override
+    public long getCreatedAnnotations() {
+        return createdAnnotations.sum();
+    }
+
+    @Override
+    public double getMeanEditNanos() {
+        return editLatencies.getMean();
+    }
+
+    @Override
+    public long getMedianEditNanos() {
+        return editLatencies.getPercentile(0.5);
+    }
+
+    @Override
+    public long getP99EditNanos() {
+        return editLatencies.getPercentile(0.99);
+    }
+
+    @Override
+    public long getMaxEditNanos() {
+        return editLatencies.getMax();
+    }
+
+    @Override
+    public void reset() {
+        edits.reset();
+        addedAnnotations.reset();
+        removedAnnotations.reset();
+        casRetries.reset();
+        staleAnnotationData.reset();
+        createdAnnotations.reset();
+        editLatencies.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "TransformMetrics{" +
+            "edits=" + getEdits() +
+            ", addedAnnotations=" + getAddedAnnotations() +
+            ", removedAnnotations=" + getRemovedAnnotations() +
+            ", casRetries=" + getCasRetries() +
+            ", staleAnnotationData=" + getStaleAnnotationData() +
+            ", createdAnnotations=" + getCreatedAnnotations() +
+            '}';
+    }
+}
@@ -0,0 +1,31 @@
+package me.hugmanrique.annotated.metrics;
+
+/**
+ * JMX view of the {@link TransformMetrics} counters.
+ *
+ * @author agent
+ */
+public interface TransformMetricsMXBean {
+
+    long getEdits();
+
+    long getAddedAnnotations();
+
+    long getRemovedAnnotations();
+
+    long getCasRetries();
+
+    long getStaleAnnotationData();
+
+    long getCreatedAnnotations();
+
+    double getMeanEditNanos();
+
+    long getMedianEditNanos();
+
+    long getP99EditNanos();
+
+    long getMaxEditNanos();
+
+    void reset();
+}
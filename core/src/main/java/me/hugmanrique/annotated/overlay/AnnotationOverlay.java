@@ -0,0 +1,136 @@
+package me.hugmanrique.annotated.overlay;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Annotation changes parsed from a text file, applied with an {@link OverlayApplier}.
+ * Each line adds an annotation to or removes an annotation from an element:
+ *
+ * <pre>
+ * # Comments start with a hash
+ * com.example.Service                        &#64;com.example.Cached(ttl = 60, unit = SECONDS)
+ * com.example.Service#name                   &#64;com.example.Named("service")
+ * com.example.Service#find(java.lang.String) &#64;com.example.Tags({"a", "b"})
+ * com.example.Service#&lt;init&gt;(int, long[])     -&#64;java.lang.Deprecated
+ * </pre>
+ *
+ * Elements are referenced by the binary name of a class, optionally followed by
+ * {@code #field} or {@code #method(ParameterType, ...)}; constructors are named {@code <init>}.
+ * Element values are Java literals: strings, chars, numbers, booleans, enum constant
+ * names, class literals and {@code {...}} arrays. Nested annotations are not supported.
+ * Nothing is loaded until the overlay is applied.
+ *
+ * @author agent
+ */
+public final class AnnotationOverlay {
+    private static final AnnotationOverlay EMPTY = new AnnotationOverlay(Collections.emptyMap());
+
+    private final Map<String, List<Declaration>> declarations;
+
+    private AnnotationOverlay(Map<String, List<Declaration>> declarations) {
+        this.declarations = declarations;
+    }
+
+    /**
+     * @return an overlay without any change
+     */
+    public static AnnotationOverlay empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Parses an overlay, reading the passed reader line by line.
+     *
+     * @param reader the overlay text, not closed by this method
+     * @return the parsed overlay
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static AnnotationOverlay parse(Reader reader) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+
+        Map<String, List<Declaration>> declarations = new LinkedHashMap<>();
+        OverlayReader overlayReader = new OverlayReader(reader);
+        Declaration declaration;
+
+        while ((declaration = overlayReader.next()) != null) {
+            declarations.computeIfAbsent(declaration.getElement(), element -> new ArrayList<>()).add(declaration);
+        }
+
+        declarations.replaceAll((element, elementDeclarations) -> Collections.unmodifiableList(elementDeclarations));
+
+        return new AnnotationOverlay(Collections.unmodifiableMap(declarations));
+    }
+
+    /**
+     * Parses a UTF-8 encoded overlay file.
+     *
+     * @param path the overlay file
+     * @return the parsed overlay
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static AnnotationOverlay parse(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * @return the signatures of the elements changed by this overlay
+     */
+    public Set<String> getElements() {
+        return declarations.keySet();
+    }
+
+    List<Declaration> getDeclarations(String element) {
+        return declarations.getOrDefault(element, Collections.emptyList());
+    }
+
+    /**
+     * @return a copy of this overlay where the passed elements have the declarations they have in {@code overlay}
+     */
+    AnnotationOverlay withDeclarations(AnnotationOverlay overlay, Set<String> elements) {
+        Map<String, List<Declaration>> merged = new LinkedHashMap<>(declarations);
+
+        for (String element : elements) {
+            List<Declaration> elementDeclarations = overlay.getDeclarations(element);
+
+            if (elementDeclarations.isEmpty()) {
+                merged.remove(element);
+            } else {
+                merged.put(element, elementDeclarations);
+            }
+        }
+
+        return new AnnotationOverlay(Collections.unmodifiableMap(merged));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AnnotationOverlay && declarations.equals(((AnnotationOverlay) o).declarations));
+    }
+
+    @Override
+    public int hashCode() {
+        return declarations.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationOverlay{" +
+            "elements=" + declarations.size() +
+            '}';
+    }
+}
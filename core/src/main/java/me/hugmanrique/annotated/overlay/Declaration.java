@@ -0,0 +1,70 @@
+package me.hugmanrique.annotated.overlay;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An overlay line, adding or removing an annotation of an element.
+ *
+ * @author agent
+ */
+final class Declaration {
+    private final String element;
+    private final String annotationType;
+    private final boolean removal;
+    private final Map<String, Literal> elements;
+
+    Declaration(String element, String annotationType, boolean removal, Map<String, Literal> elements) {
+        this.element = Objects.requireNonNull(element, "element");
+        this.annotationType = Objects.requireNonNull(annotationType, "annotation type");
+        this.removal = removal;
+        this.elements = Collections.unmodifiableMap(new LinkedHashMap<>(elements));
+    }
+
+    /**
+     * @return the signature of the annotated element
+     */
+    String getElement() {
+        return element;
+    }
+
+    String getAnnotationType() {
+        return annotationType;
+    }
+
+    boolean isRemoval() {
+        return removal;
+    }
+
+    Map<String, Literal> getElements() {
+        return elements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof Declaration)) {
+            return false;
+        }
+
+        Declaration that = (Declaration) o;
+
+        return removal == that.removal && element.equals(that.element)
+            && annotationType.equals(that.annotationType) && elements.equals(that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(element, annotationType, removal, elements);
+    }
+
+    @Override
+    public String toString() {
+        return element + (removal ? " -@" : " @") + annotationType + (elements.isEmpty() ? "" : elements);
+    }
+}
@@ -0,0 +1,159 @@
+package me.hugmanrique.annotated.overlay;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An annotation element value as written in an overlay file, converted
+ * to the element type when the overlay gets applied.
+ *
+ * @author agent
+ */
+final class Literal {
+    enum Kind {
+        STRING, CHAR, BOOLEAN, NUMBER, CLASS, CONSTANT, ARRAY
+    }
+
+    private final Kind kind;
+    private final String text;
+    private final List<Literal> elements;
+
+    private Literal(Kind kind, String text, List<Literal> elements) {
+        this.kind = kind;
+        this.text = text;
+        this.elements = elements;
+    }
+
+    static Literal of(Kind kind, String text) {
+        return new Literal(kind, Objects.requireNonNull(text, "text"), Collections.emptyList());
+    }
+
+    static Literal array(List<Literal> elements) {
+        return new Literal(Kind.ARRAY, "", Collections.unmodifiableList(new ArrayList<>(elements)));
+    }
+
+    /**
+     * Converts this literal to a value of the passed annotation element type.
+     *
+     * @throws IllegalArgumentException if the literal cannot be converted
+     */
+    Object toValue(Class<?> type, ClassLoader loader) {
+        if (type.isArray()) {
+            // A single value is accepted for array elements, like in Java
+            List<Literal> values = kind == Kind.ARRAY ? elements : Collections.singletonList(this);
+            Object array = Array.newInstance(type.getComponentType(), values.size());
+
+            for (int i = 0; i < values.size(); i++) {
+                Array.set(array, i, values.get(i).toValue(type.getComponentType(), loader));
+            }
+
+            return array;
+        }
+
+        try {
+            switch (kind) {
+                case STRING:
+                    if (type == String.class) {
+                        return text;
+                    }
+                    break;
+                case CHAR:
+                    if (type == char.class) {
+                        return text.charAt(0);
+                    }
+                    break;
+                case BOOLEAN:
+                    if (type == boolean.class) {
+                        return Boolean.valueOf(text);
+                    }
+                    break;
+                case NUMBER:
+                    return toNumber(type);
+                case CLASS:
+                    if (type == Class.class) {
+                        return OverlayElements.loadType(text, loader);
+                    }
+                    break;
+                case CONSTANT:
+                    if (type.isEnum()) {
+                        return toConstant(type.asSubclass(Enum.class));
+                    }
+                    break;
+            }
+        } catch (NumberFormatException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " value: " + this, e);
+        }
+
+        throw new IllegalArgumentException("Cannot convert " + this + " to " + type.getName());
+    }
+
+    private Object toNumber(Class<?> type) {
+        String number = text;
+
+        if (number.length() > 1 && "lLfFdD".indexOf(number.charAt(number.length() - 1)) >= 0 && !number.startsWith("0x")) {
+            number = number.substring(0, number.length() - 1);
+        }
+
+        if (type == int.class) {
+            return Integer.decode(number);
+        } else if (type == long.class) {
+            return Long.decode(number);
+        } else if (type == short.class) {
+            return Short.decode(number);
+        } else if (type == byte.class) {
+            return Byte.decode(number);
+        } else if (type == double.class) {
+            return Double.parseDouble(number);
+        } else if (type == float.class) {
+            return Float.parseFloat(number);
+        }
+
+        throw new IllegalArgumentException("Cannot convert " + this + " to " + type.getName());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object toConstant(Class<? extends Enum> type) {
+        String name = text.substring(text.lastIndexOf('.') + 1);
+
+        return Enum.valueOf(type, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof Literal)) {
+            return false;
+        }
+
+        Literal literal = (Literal) o;
+
+        return kind == literal.kind && text.equals(literal.text) && elements.equals(literal.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, text, elements);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case STRING:
+                return '"' + text + '"';
+            case CHAR:
+                return "'" + text + "'";
+            case CLASS:
+                return text + ".class";
+            case ARRAY:
+                return elements.toString();
+            default:
+                return text;
+        }
+    }
+}
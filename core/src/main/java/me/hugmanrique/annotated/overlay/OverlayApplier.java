@@ -0,0 +1,201 @@
+package me.hugmanrique.annotated.overlay;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.factory.AnnotationDescriptor;
+import me.hugmanrique.annotated.transformer.AnnotationEdit;
+import me.hugmanrique.annotated.transformer.AnnotationOverride;
+import me.hugmanrique.annotated.transformer.AnnotationTransformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies {@link AnnotationOverlay}s through the {@link Annotated} transformers. Applying a
+ * new overlay only edits the elements whose declarations differ from the current overlay,
+ * so reloading an overlay file costs in proportion to the changed lines.
+ * <p>
+ * The changes of each element are installed as an {@link AnnotationOverride}: when an element
+ * leaves the overlay, the annotations it had before get restored, keeping the changes made
+ * to the element since through other means.
+ *
+ * @author agent
+ */
+public final class OverlayApplier {
+    private final ClassLoader loader;
+    private final Map<String, AnnotationOverride<?>> overrides = new HashMap<>();
+    private AnnotationOverlay current = AnnotationOverlay.empty();
+
+    /**
+     * Creates an applier that resolves the overlay elements with the context class loader.
+     */
+    public OverlayApplier() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public OverlayApplier(ClassLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * @return the overlay currently applied
+     */
+    public synchronized AnnotationOverlay getCurrent() {
+        return current;
+    }
+
+    /**
+     * Replaces the current overlay, editing only the elements whose declarations changed.
+     * All the changed elements and annotations are resolved before editing any element,
+     * so an invalid overlay leaves the current one applied. Each changed element is edited
+     * with a single atomic swap, so the annotations declared by both overlays are never
+     * briefly reverted. If editing an element fails, {@link #getCurrent()} reflects the
+     * elements edited until then.
+     *
+     * @param overlay the new overlay
+     * @return the signatures of the edited elements
+     * @throws IllegalArgumentException if an element, annotation type or element value cannot be resolved
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    public synchronized Set<String> apply(AnnotationOverlay overlay) {
+        Objects.requireNonNull(overlay, "overlay");
+
+        Set<String> elements = new LinkedHashSet<>(current.getElements());
+        elements.addAll(overlay.getElements());
+        Map<String, ResolvedElement> changed = new LinkedHashMap<>();
+
+        for (String element : elements) {
+            List<Declaration> declarations = overlay.getDeclarations(element);
+
+            if (!declarations.equals(current.getDeclarations(element))) {
+                changed.put(element, declarations.isEmpty() ? null : resolve(element, declarations));
+            }
+        }
+
+        Set<String> applied = new HashSet<>();
+
+        try {
+            for (Map.Entry<String, ResolvedElement> entry : changed.entrySet()) {
+                String element = entry.getKey();
+                AnnotationOverride<?> previous = overrides.get(element);
+
+                if (entry.getValue() != null) {
+                    // Replaces the previous override with a single edit
+                    overrides.put(element, entry.getValue().install(previous));
+                } else if (previous != null) {
+                    previous.close();
+                    overrides.remove(element);
+                }
+
+                applied.add(element);
+            }
+        } catch (RuntimeException | Error e) {
+            // Keep the current overlay in sync with the installed overrides
+            current = current.withDeclarations(overlay, applied);
+            throw e;
+        }
+
+        current = overlay;
+        return Collections.unmodifiableSet(changed.keySet());
+    }
+
+    /**
+     * Reverts all the changes of the current overlay.
+     *
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    public void clear() {
+        apply(AnnotationOverlay.empty());
+    }
+
+    private ResolvedElement resolve(String signature, List<Declaration> declarations) {
+        AnnotatedElement element = OverlayElements.resolve(signature, loader);
+        List<Object> changes = new ArrayList<>(declarations.size()); // Annotations to add, types to remove
+
+        for (Declaration declaration : declarations) {
+            Class<? extends Annotation> annotationType = resolveAnnotationType(declaration.getAnnotationType());
+
+            if (declaration.isRemoval()) {
+                changes.add(annotationType);
+                continue;
+            }
+
+            AnnotationDescriptor descriptor = AnnotationDescriptor.of(annotationType);
+            Map<String, Object> elementsMap = new HashMap<>();
+
+            declaration.getElements().forEach((name, literal) ->
+                elementsMap.put(name, literal.toValue(descriptor.getElementType(name), loader)));
+
+            changes.add(Annotated.annotationFactory().createAnnotation(annotationType, elementsMap));
+            Annotated.transformListener().annotationCreated(annotationType);
+        }
+
+        return new ResolvedElement(element, changes);
+    }
+
+    private Class<? extends Annotation> resolveAnnotationType(String name) {
+        Class<?> type;
+
+        try {
+            type = OverlayElements.loadType(name, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("Cannot resolve annotation type " + name, e);
+        }
+
+        if (!type.isAnnotation()) {
+            throw new IllegalArgumentException(name + " is not an annotation type");
+        }
+
+        return type.asSubclass(Annotation.class);
+    }
+
+    private static final class ResolvedElement {
+        private final AnnotatedElement element;
+        private final List<Object> changes;
+
+        private ResolvedElement(AnnotatedElement element, List<Object> changes) {
+            this.element = element;
+            this.changes = changes;
+        }
+
+        /**
+         * @param replaced the override installed by the previous overlay, or {@code null}
+         */
+        private AnnotationOverride<?> install(AnnotationOverride<?> replaced) {
+            if (element instanceof Class) {
+                return install(Annotated.clazz(), (Class<?>) element, replaced);
+            } else if (element instanceof Field) {
+                return install(Annotated.field(), (Field) element, replaced);
+            }
+
+            return install(Annotated.executable(), (Executable) element, replaced);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <K extends AnnotatedElement> AnnotationOverride<K> install(AnnotationTransformer<K> transformer, K element,
+                                                                           AnnotationOverride<?> replaced) {
+            AnnotationEdit<K> edit = transformer.edit(element);
+
+            for (Object change : changes) {
+                if (change instanceof Annotation) {
+                    edit.add((Annotation) change);
+                } else {
+                    edit.remove((Class<? extends Annotation>) change);
+                }
+            }
+
+            return replaced != null ? edit.override((AnnotationOverride<K>) replaced) : edit.override();
+        }
+    }
+}
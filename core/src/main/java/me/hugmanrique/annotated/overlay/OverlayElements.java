@@ -0,0 +1,101 @@
+package me.hugmanrique.annotated.overlay;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the element signatures of overlay files.
+ *
+ * @author agent
+ */
+final class OverlayElements {
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    private OverlayElements() {}
+
+    /**
+     * @param signature a class name, {@code Class#field} or {@code Class#method(ParameterType, ...)}
+     * @return the class, field, method or constructor
+     * @throws IllegalArgumentException if the element cannot be found
+     */
+    static AnnotatedElement resolve(String signature, ClassLoader loader) {
+        int memberStart = signature.indexOf('#');
+
+        try {
+            if (memberStart < 0) {
+                return loadType(signature, loader);
+            }
+
+            Class<?> clazz = loadType(signature.substring(0, memberStart), loader);
+            int parametersStart = signature.indexOf('(', memberStart);
+
+            if (parametersStart < 0) {
+                return clazz.getDeclaredField(signature.substring(memberStart + 1));
+            }
+
+            if (!signature.endsWith(")")) {
+                throw new IllegalArgumentException("Invalid executable signature: " + signature);
+            }
+
+            String name = signature.substring(memberStart + 1, parametersStart);
+            Class<?>[] parameterTypes = parameterTypes(signature.substring(parametersStart + 1, signature.length() - 1), loader);
+
+            return name.equals(CONSTRUCTOR_NAME)
+                ? clazz.getDeclaredConstructor(parameterTypes)
+                : clazz.getDeclaredMethod(name, parameterTypes);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalArgumentException("Cannot resolve element " + signature, e);
+        }
+    }
+
+    private static Class<?>[] parameterTypes(String parameters, ClassLoader loader) throws ClassNotFoundException {
+        if (parameters.isEmpty()) {
+            return new Class<?>[0];
+        }
+
+        List<Class<?>> types = new ArrayList<>();
+
+        for (String parameter : parameters.split(",")) {
+            types.add(loadType(parameter, loader));
+        }
+
+        return types.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * @param name a primitive, binary class name or array type, e.g. {@code java.lang.String[]}
+     * @return the loaded type
+     */
+    static Class<?> loadType(String name, ClassLoader loader) throws ClassNotFoundException {
+        if (name.endsWith("[]")) {
+            Class<?> componentType = loadType(name.substring(0, name.length() - 2), loader);
+
+            return Array.newInstance(componentType, 0).getClass();
+        }
+
+        switch (name) {
+            case "boolean":
+                return boolean.class;
+            case "byte":
+                return byte.class;
+            case "char":
+                return char.class;
+            case "short":
+                return short.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return float.class;
+            case "double":
+                return double.class;
+            case "void":
+                return void.class;
+            default:
+                return Class.forName(name, false, loader);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package me.hugmanrique.annotated.overlay;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the declarations of an overlay file one line at a time.
+ *
+ * @author agent
+ * @see AnnotationOverlay the file format
+ */
+final class OverlayReader implements Closeable {
+    private static final String VALUE_ELEMENT = "value";
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private String line;
+    private int position;
+
+    OverlayReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the next declaration, or {@code null} at the end of the stream
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    Declaration next() throws IOException {
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            position = 0;
+            skipWhitespace();
+
+            if (!isLineEnd()) {
+                return readDeclaration();
+            }
+        }
+
+        return null;
+    }
+
+    private Declaration readDeclaration() {
+        String element = readElement();
+        skipWhitespace();
+
+        boolean removal = consume('-');
+        expect('@');
+
+        String annotationType = readToken();
+
+        if (annotationType.isEmpty()) {
+            throw error("Missing annotation type");
+        }
+
+        Map<String, Literal> elements = new LinkedHashMap<>();
+        skipWhitespace();
+
+        if (consume('(')) {
+            if (removal) {
+                throw error("Removed annotations cannot have elements");
+            }
+
+            readElements(elements);
+        }
+
+        skipWhitespace();
+
+        if (!isLineEnd()) {
+            throw error("Unexpected '" + line.charAt(position) + "'");
+        }
+
+        return new Declaration(element, annotationType, removal, elements);
+    }
+
+    private String readElement() {
+        int start = position;
+        int depth = 0;
+
+        // Executable signatures may contain whitespace between their parameters
+        while (position < line.length() && (depth > 0 || !Character.isWhitespace(line.charAt(position)))) {
+            char c = line.charAt(position++);
+
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+
+        if (depth != 0) {
+            throw error("Unbalanced parentheses in element signature");
+        }
+
+        return line.substring(start, position).replaceAll("\\s+", "");
+    }
+
+    private void readElements(Map<String, Literal> elements) {
+        skipWhitespace();
+
+        if (consume(')')) {
+            return;
+        }
+
+        int start = position;
+        String name = readToken();
+        skipWhitespace();
+
+        if (name.isEmpty() || !consume('=')) {
+            // Single value shorthand
+            position = start;
+            elements.put(VALUE_ELEMENT, readLiteral());
+            skipWhitespace();
+            expect(')');
+            return;
+        }
+
+        while (true) {
+            skipWhitespace();
+
+            if (elements.put(name, readLiteral()) != null) {
+                throw error("Duplicate element " + name);
+            }
+
+            skipWhitespace();
+
+            if (consume(')')) {
+                return;
+            }
+
+            expect(',');
+            skipWhitespace();
+            name = readToken();
+            skipWhitespace();
+            expect('=');
+        }
+    }
+
+    private Literal readLiteral() {
+        if (consume('"')) {
+            return Literal.of(Literal.Kind.STRING, readQuoted('"'));
+        }
+
+        if (consume('\'')) {
+            String value = readQuoted('\'');
+
+            if (value.length() != 1) {
+                throw error("Invalid char literal");
+            }
+
+            return Literal.of(Literal.Kind.CHAR, value);
+        }
+
+        if (consume('{')) {
+            List<Literal> values = new ArrayList<>();
+            skipWhitespace();
+
+            if (!consume('}')) {
+                do {
+                    skipWhitespace();
+                    values.add(readLiteral());
+                    skipWhitespace();
+                } while (consume(','));
+
+                expect('}');
+            }
+
+            return Literal.array(values);
+        }
+
+        String token = readToken();
+
+        if (token.isEmpty()) {
+            throw error("Missing element value");
+        } else if (token.equals("true") || token.equals("false")) {
+            return Literal.of(Literal.Kind.BOOLEAN, token);
+        } else if (token.endsWith(".class")) {
+            return Literal.of(Literal.Kind.CLASS, token.substring(0, token.length() - ".class".length()));
+        } else if (Character.isDigit(token.charAt(0)) || "+-.".indexOf(token.charAt(0)) >= 0) {
+            return Literal.of(Literal.Kind.NUMBER, token);
+        }
+
+        return Literal.of(Literal.Kind.CONSTANT, token);
+    }
+
+    private String readQuoted(char quote) {
+        StringBuilder builder = new StringBuilder();
+
+        while (position < line.length()) {
+            char c = line.charAt(position++);
+
+            if (c == quote) {
+                return builder.toString();
+            }
+
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+
+            if (position >= line.length()) {
+                break;
+            }
+
+            char escaped = line.charAt(position++);
+
+            switch (escaped) {
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 'u':
+                    if (position + 4 > line.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+
+                    try {
+                        builder.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+
+                    position += 4;
+                    break;
+                default:
+                    builder.append(escaped);
+            }
+        }
+
+        throw error("Unterminated literal");
+    }
+
+    /**
+     * Reads a name, number or class literal.
+     */
+    private String readToken() {
+        int start = position;
+
+        while (position < line.length()) {
+            char c = line.charAt(position);
+
+            if (Character.isWhitespace(c) || ",=(){}\"'#".indexOf(c) >= 0) {
+                break;
+            }
+
+            position++;
+        }
+
+        return line.substring(start, position);
+    }
+
+    private void skipWhitespace() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean isLineEnd() {
+        return position >= line.length() || line.charAt(position) == '#';
+    }
+
+    private boolean consume(char c) {
+        if (position < line.length() && line.charAt(position) == c) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Line " + lineNumber + ", column " + (position + 1) + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
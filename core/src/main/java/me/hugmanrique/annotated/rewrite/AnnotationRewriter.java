@@ -0,0 +1,192 @@
+package me.hugmanrique.annotated.rewrite;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.transformer.AnnotationEdit;
+import me.hugmanrique.annotated.transformer.AnnotationTransformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a set of {@link RewriteRule}s to many classes in parallel.
+ * Classes are partitioned across a {@link ForkJoinPool}; the changes of each
+ * class, field and executable are committed as a single batch edit.
+ *
+ * @author agent
+ */
+public final class AnnotationRewriter {
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+
+    private final ForkJoinPool pool;
+    private final List<RewriteRule> rules;
+
+    public AnnotationRewriter(Collection<RewriteRule> rules) {
+        this(ForkJoinPool.commonPool(), rules);
+    }
+
+    public AnnotationRewriter(ForkJoinPool pool, Collection<RewriteRule> rules) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.rules = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(rules, "rules")));
+    }
+
+    /**
+     * Applies the rules to the passed classes and their declared members.
+     * A failure while rewriting a class doesn't stop the rewrite of the rest.
+     *
+     * @param classes the classes to rewrite
+     * @return the results of each class, in iteration order of {@code classes}
+     */
+    public List<RewriteResult> rewrite(Collection<? extends Class<?>> classes) {
+        Class<?>[] classArray = classes.toArray(new Class<?>[0]);
+        RewriteResult[] results = new RewriteResult[classArray.length];
+
+        pool.invoke(new RewriteAction(classArray, results, 0, classArray.length));
+
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private RewriteResult rewrite(Class<?> clazz) {
+        List<RewriteRule> matchingRules = rules.stream()
+            .filter(rule -> rule.matches(clazz))
+            .collect(Collectors.toList());
+        int[] counts = new int[2]; // Added, removed
+
+        if (matchingRules.isEmpty()) {
+            return new RewriteResult(clazz, 0, 0, null);
+        }
+
+        try {
+            rewriteElement(Annotated.clazz(), clazz, RewriteRule.Target.CLASS, matchingRules, counts);
+
+            if (hasTarget(matchingRules, RewriteRule.Target.FIELD)) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    rewriteElement(Annotated.field(), field, RewriteRule.Target.FIELD, matchingRules, counts);
+                }
+            }
+
+            if (hasTarget(matchingRules, RewriteRule.Target.EXECUTABLE)) {
+                for (Executable method : clazz.getDeclaredMethods()) {
+                    rewriteElement(Annotated.executable(), method, RewriteRule.Target.EXECUTABLE, matchingRules, counts);
+                }
+
+                for (Executable constructor : clazz.getDeclaredConstructors()) {
+                    rewriteElement(Annotated.executable(), constructor, RewriteRule.Target.EXECUTABLE, matchingRules, counts);
+                }
+            }
+        } catch (RuntimeException | LinkageError e) {
+            return new RewriteResult(clazz, counts[0], counts[1], e);
+        }
+
+        return new RewriteResult(clazz, counts[0], counts[1], null);
+    }
+
+    /**
+     * Applies the matching rules in order to the declared annotations of the element
+     * and commits the resulting changes as a single edit. Only the annotations that end up
+     * added, replaced or removed are counted.
+     */
+    private static <K extends AnnotatedElement> void rewriteElement(AnnotationTransformer<K> transformer, K element, RewriteRule.Target target,
+                                                                    List<RewriteRule> rules, int[] counts) {
+        Map<Class<? extends Annotation>, Annotation> declared = null;
+        Map<Class<? extends Annotation>, Annotation> pending = null;
+
+        for (RewriteRule rule : rules) {
+            if (rule.getTarget() != target || !rule.matchesMember(element)) {
+                continue;
+            }
+
+            if (pending == null) {
+                declared = new HashMap<>();
+
+                for (Annotation annotation : element.getDeclaredAnnotations()) {
+                    declared.put(annotation.annotationType(), annotation);
+                }
+
+                pending = new HashMap<>(declared);
+            }
+
+            if (rule.isAddition()) {
+                pending.put(rule.getAnnotationClass(), rule.getAddition());
+            } else {
+                pending.remove(rule.getAnnotationClass());
+            }
+        }
+
+        if (pending == null) {
+            return;
+        }
+
+        AnnotationEdit<K> edit = transformer.edit(element);
+        int added = 0;
+        int removed = 0;
+
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : pending.entrySet()) {
+            if (declared.get(entry.getKey()) != entry.getValue()) {
+                edit.add(entry.getValue());
+                added++;
+            }
+        }
+
+        for (Class<? extends Annotation> annotationClass : declared.keySet()) {
+            if (!pending.containsKey(annotationClass)) {
+                edit.remove(annotationClass);
+                removed++;
+            }
+        }
+
+        if (added + removed > 0) {
+            edit.commit();
+
+            counts[0] += added;
+            counts[1] += removed;
+        }
+    }
+
+    private static boolean hasTarget(List<RewriteRule> rules, RewriteRule.Target target) {
+        for (RewriteRule rule : rules) {
+            if (rule.getTarget() == target) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private final class RewriteAction extends RecursiveAction {
+        private final Class<?>[] classes;
+        private final RewriteResult[] results;
+        private final int from;
+        private final int to;
+
+        private RewriteAction(Class<?>[] classes, RewriteResult[] results, int from, int to) {
+            this.classes = classes;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = rewrite(classes[i]);
+                }
+
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+
+            invokeAll(
+                new RewriteAction(classes, results, from, middle),
+                new RewriteAction(classes, results, middle, to)
+            );
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.hugmanrique.annotated.rewrite;
+
+/**
+ * Describes the changes an {@link AnnotationRewriter} applied to a class and its members.
+ *
+ * @author agent
+ */
+public final class RewriteResult {
+    private final Class<?> targetClass;
+    private final int addedAnnotations;
+    private final int removedAnnotations;
+    private final Throwable failure;
+
+    RewriteResult(Class<?> targetClass, int addedAnnotations, int removedAnnotations, Throwable failure) {
+        this.targetClass = targetClass;
+        this.addedAnnotations = addedAnnotations;
+        this.removedAnnotations = removedAnnotations;
+        this.failure = failure;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return the number of annotations added to the class and its members
+     */
+    public int getAddedAnnotations() {
+        return addedAnnotations;
+    }
+
+    /**
+     * @return the number of annotations removed from the class and its members
+     */
+    public int getRemovedAnnotations() {
+        return removedAnnotations;
+    }
+
+    /**
+     * @return the exception that stopped the rewrite of this class, or {@code null} if it succeeded
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        return "RewriteResult{" +
+            "targetClass=" + targetClass.getName() +
+            ", addedAnnotations=" + addedAnnotations +
+            ", removedAnnotations=" + removedAnnotations +
+            ", failure=" + failure +
+            '}';
+    }
+}
@@ -0,0 +1,139 @@
+package me.hugmanrique.annotated.rewrite;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Declares an annotation to add to or remove from the classes, fields
+ * or executables matching some predicates. The rules matching an element
+ * are applied in the order they were passed to the {@link AnnotationRewriter}.
+ *
+ * @author agent
+ */
+public final class RewriteRule {
+    enum Target {
+        CLASS, FIELD, EXECUTABLE
+    }
+
+    private final Target target;
+    private final Predicate<? super Class<?>> classFilter;
+    private final Predicate<? super AnnotatedElement> memberFilter;
+    private final Annotation addition; // null if this rule removes an annotation
+    private final Class<? extends Annotation> annotationClass;
+
+    private RewriteRule(Target target, Predicate<? super Class<?>> classFilter, Predicate<? super AnnotatedElement> memberFilter,
+                        Annotation addition, Class<? extends Annotation> annotationClass) {
+        this.target = target;
+        this.classFilter = Objects.requireNonNull(classFilter, "class filter");
+        this.memberFilter = Objects.requireNonNull(memberFilter, "member filter");
+        this.addition = addition;
+        this.annotationClass = Objects.requireNonNull(annotationClass, "annotation class");
+    }
+
+    /**
+     * @param packageName the package name
+     * @return a predicate matching the classes in the package and its subpackages
+     */
+    public static Predicate<Class<?>> inPackage(String packageName) {
+        Objects.requireNonNull(packageName, "package name");
+        String prefix = packageName + '.';
+
+        return clazz -> clazz.getName().startsWith(prefix);
+    }
+
+    /**
+     * @param classFilter the predicate the edited classes must match
+     * @param annotation the annotation to add, replacing the declared annotation of the same type
+     * @return a rule adding the annotation to the matching classes
+     */
+    public static RewriteRule addClassAnnotation(Predicate<? super Class<?>> classFilter, Annotation annotation) {
+        return new RewriteRule(Target.CLASS, classFilter, element -> true, annotation, annotation.annotationType());
+    }
+
+    /**
+     * @param classFilter the predicate the edited classes must match
+     * @param annotationClass the annotation type to be removed
+     * @return a rule removing the declared annotation of the type from the matching classes
+     */
+    public static RewriteRule removeClassAnnotation(Predicate<? super Class<?>> classFilter, Class<? extends Annotation> annotationClass) {
+        return new RewriteRule(Target.CLASS, classFilter, element -> true, null, annotationClass);
+    }
+
+    /**
+     * @param classFilter the predicate the classes declaring the edited fields must match
+     * @param fieldFilter the predicate the edited fields must match
+     * @param annotation the annotation to add, replacing the declared annotation of the same type
+     * @return a rule adding the annotation to the matching fields
+     */
+    public static RewriteRule addFieldAnnotation(Predicate<? super Class<?>> classFilter, Predicate<? super Field> fieldFilter,
+                                                 Annotation annotation) {
+        return new RewriteRule(Target.FIELD, classFilter, memberFilter(Field.class, fieldFilter), annotation, annotation.annotationType());
+    }
+
+    /**
+     * @param classFilter the predicate the classes declaring the edited fields must match
+     * @param fieldFilter the predicate the edited fields must match
+     * @param annotationClass the annotation type to be removed
+     * @return a rule removing the declared annotation of the type from the matching fields
+     */
+    public static RewriteRule removeFieldAnnotation(Predicate<? super Class<?>> classFilter, Predicate<? super Field> fieldFilter,
+                                                    Class<? extends Annotation> annotationClass) {
+        return new RewriteRule(Target.FIELD, classFilter, memberFilter(Field.class, fieldFilter), null, annotationClass);
+    }
+
+    /**
+     * @param classFilter the predicate the classes declaring the edited methods and constructors must match
+     * @param executableFilter the predicate the edited methods and constructors must match
+     * @param annotation the annotation to add, replacing the declared annotation of the same type
+     * @return a rule adding the annotation to the matching methods and constructors
+     */
+    public static RewriteRule addExecutableAnnotation(Predicate<? super Class<?>> classFilter, Predicate<? super Executable> executableFilter,
+                                                      Annotation annotation) {
+        return new RewriteRule(Target.EXECUTABLE, classFilter, memberFilter(Executable.class, executableFilter), annotation, annotation.annotationType());
+    }
+
+    /**
+     * @param classFilter the predicate the classes declaring the edited methods and constructors must match
+     * @param executableFilter the predicate the edited methods and constructors must match
+     * @param annotationClass the annotation type to be removed
+     * @return a rule removing the declared annotation of the type from the matching methods and constructors
+     */
+    public static RewriteRule removeExecutableAnnotation(Predicate<? super Class<?>> classFilter, Predicate<? super Executable> executableFilter,
+                                                         Class<? extends Annotation> annotationClass) {
+        return new RewriteRule(Target.EXECUTABLE, classFilter, memberFilter(Executable.class, executableFilter), null, annotationClass);
+    }
+
+    private static <M extends AnnotatedElement> Predicate<AnnotatedElement> memberFilter(Class<M> memberClass, Predicate<? super M> filter) {
+        Objects.requireNonNull(filter, "member filter");
+
+        return element -> filter.test(memberClass.cast(element));
+    }
+
+    Target getTarget() {
+        return target;
+    }
+
+    boolean matches(Class<?> clazz) {
+        return classFilter.test(clazz);
+    }
+
+    boolean matchesMember(AnnotatedElement member) {
+        return memberFilter.test(member);
+    }
+
+    boolean isAddition() {
+        return addition != null;
+    }
+
+    Annotation getAddition() {
+        return addition;
+    }
+
+    Class<? extends Annotation> getAnnotationClass() {
+        return annotationClass;
+    }
+}
@@ -0,0 +1,264 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.AnnotationArrayMap;
+import me.hugmanrique.annotated.AnnotationMap;
+import me.hugmanrique.annotated.event.AnnotationChange;
+import me.hugmanrique.annotated.event.AnnotationChangeListener;
+import me.hugmanrique.annotated.metrics.TransformListener;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+abstract class AbstractAnnotationTransformer<K extends AnnotatedElement> implements AnnotationTransformer<K> {
+    @Override
+    public <T extends Annotation> void addAnnotation(K element, Class<T> annotationClass, Map<String, Object> elementsMap) {
+        addAnnotation(element, annotationForMap(annotationClass, elementsMap));
+    }
+
+    @Override
+    public <T extends Annotation> void addAnnotation(K element, T annotation) {
+        edit(element).add(annotation).commit();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Annotation> T removeAnnotation(K element, Class<T> annotationClass) {
+        if (!isDeclared(element, annotationClass)) {
+            return null;
+        }
+
+        Map<Class<? extends Annotation>, Annotation> previous = apply(element, annotations -> annotations.remove(annotationClass));
+
+        return (T) previous.get(annotationClass);
+    }
+
+    @Override
+    public AnnotationEdit<K> edit(K element) {
+        return new AnnotationEdit<>(this, element);
+    }
+
+    @Override
+    public <T extends Annotation> AnnotationOverride<K> override(K element, T annotation) {
+        return edit(element).add(annotation).override();
+    }
+
+    @Override
+    public AnnotationSnapshot<K> snapshot(K element) {
+        // Read the superclass first, a concurrent superclass change then forces a recomputation on restore
+        Map<Class<? extends Annotation>, Annotation> superclassAnnotations = superclassAnnotations(element);
+
+        return new AnnotationSnapshot<>(element, currentAnnotations(element), superclassAnnotations);
+    }
+
+    @Override
+    public void restore(AnnotationSnapshot<K> snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        replace(snapshot.getElement(), current -> reinstall(snapshot));
+    }
+
+    /**
+     * Applies the editor to a mutable copy of the element annotations and publishes the result.
+     *
+     * @param element the element to be edited
+     * @param editor the function that modifies the annotations map
+     * @return the annotations map of the element before the edit
+     */
+    Map<Class<? extends Annotation>, Annotation> apply(K element, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        return replace(element, annotationMap -> edit(element, annotationMap, editor))[0].getDeclaredAnnotations();
+    }
+
+    /**
+     * Applies the editor and returns an override that reverts it when closed.
+     */
+    AnnotationOverride<K> applyOverride(K element, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        Map<Class<? extends Annotation>, Annotation> superclassAnnotations = superclassAnnotations(element);
+        AnnotationMap[] maps = replace(element, annotationMap -> edit(element, annotationMap, editor));
+
+        return new AnnotationOverride<>(this, new AnnotationSnapshot<>(element, maps[0], superclassAnnotations), maps[1]);
+    }
+
+    /**
+     * Atomically replaces the annotations of the element by the result of the function,
+     * which may be called more than once.
+     *
+     * @param element the element to be edited
+     * @param function computes the new annotations from the current ones
+     * @return the previous and the installed annotation maps
+     */
+    AnnotationMap[] replace(K element, UnaryOperator<AnnotationMap> function) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " doesn't edit the running JVM");
+    }
+
+    /**
+     * @return the current annotations of the element
+     */
+    AnnotationMap currentAnnotations(K element) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " doesn't edit the running JVM");
+    }
+
+    @Override
+    public Map<Class<? extends Annotation>, Annotation> annotations(K element) {
+        Objects.requireNonNull(element, "element");
+        Map<Class<? extends Annotation>, Annotation> annotations = presentAnnotations(element);
+
+        // The maps installed by the transformers are immutable
+        return annotations instanceof AnnotationArrayMap ? annotations : Collections.unmodifiableMap(annotations);
+    }
+
+    /**
+     * @return the annotations map read by {@link AnnotatedElement#getAnnotation(Class)}
+     */
+    Map<Class<? extends Annotation>, Annotation> presentAnnotations(K element) {
+        return currentAnnotations(element).getAnnotations();
+    }
+
+    /**
+     * Applies the editor to a copy of the declared annotations of the map.
+     *
+     * @return the edited annotation map
+     */
+    abstract AnnotationMap edit(K element, AnnotationMap annotationMap, Consumer<Map<Class<? extends Annotation>, Annotation>> editor);
+
+    /**
+     * @return whether the element declares an annotation of the passed type
+     */
+    boolean isDeclared(K element, Class<? extends Annotation> annotationClass) {
+        return element.getDeclaredAnnotation(annotationClass) != null;
+    }
+
+    /**
+     * @return the annotations the element inherits from, empty if it doesn't inherit annotations
+     */
+    Map<Class<? extends Annotation>, Annotation> superclassAnnotations(K element) {
+        return AnnotationArrayMap.empty();
+    }
+
+    /**
+     * Returns the annotation map captured by the snapshot, recomputing the inherited
+     * annotations only if the superclass annotations changed since it was taken.
+     */
+    AnnotationMap reinstall(AnnotationSnapshot<K> snapshot) {
+        Map<Class<? extends Annotation>, Annotation> superclassAnnotations = superclassAnnotations(snapshot.getElement());
+
+        if (snapshot.superclassAnnotations == superclassAnnotations) {
+            return snapshot.annotationMap;
+        }
+
+        return snapshot.annotationMap.inherit(superclassAnnotations);
+    }
+
+    static <T extends Annotation> T annotationForMap(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        T annotation = Annotated.annotationFactory().createAnnotation(annotationClass, elementsMap);
+        Annotated.transformListener().annotationCreated(annotationClass);
+
+        return annotation;
+    }
+
+    /**
+     * Updates the annotation index, if enabled, after the declared annotations of the element changed.
+     */
+    static void indexChanges(AnnotatedElement element, Map<Class<? extends Annotation>, Annotation> previous,
+                             Map<Class<? extends Annotation>, Annotation> current) {
+        AnnotationIndex index = Annotated.annotationIndex();
+
+        if (index != null && previous != current) {
+            index.update(element, previous, current);
+        }
+    }
+
+    /**
+     * Notifies the change listeners, if any, after the annotations of the element changed.
+     * The edit was already published, so listener exceptions are passed to the uncaught
+     * exception handler of the current thread instead of failing it.
+     */
+    static void fireChanges(AnnotatedElement element, Map<Class<? extends Annotation>, Annotation> previous,
+                            Map<Class<? extends Annotation>, Annotation> current) {
+        List<AnnotationChangeListener> listeners = Annotated.changeListeners();
+
+        if (listeners.isEmpty() || previous == current) {
+            return;
+        }
+
+        List<AnnotationChange> changes = new ArrayList<>();
+
+        current.forEach((annotationClass, annotation) -> {
+            Annotation previousAnnotation = previous.get(annotationClass);
+
+            if (previousAnnotation != annotation) {
+                changes.add(new AnnotationChange(element, annotationClass, previousAnnotation, annotation));
+            }
+        });
+
+        previous.forEach((annotationClass, annotation) -> {
+            if (!current.containsKey(annotationClass)) {
+                changes.add(new AnnotationChange(element, annotationClass, annotation, null));
+            }
+        });
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        List<AnnotationChange> unmodifiableChanges = Collections.unmodifiableList(changes);
+
+        for (AnnotationChangeListener listener : listeners) {
+            try {
+                listener.annotationsChanged(unmodifiableChanges);
+            } catch (RuntimeException e) {
+                listenerFailed(e);
+            }
+        }
+    }
+
+    /**
+     * Counts the changes between the declared annotation maps and notifies the listener.
+     * The edit was already published, so listener exceptions are passed to the uncaught
+     * exception handler of the current thread instead of failing it.
+     */
+    static void editCompleted(TransformListener listener, AnnotatedElement element,
+                              Map<Class<? extends Annotation>, Annotation> previous,
+                              Map<Class<? extends Annotation>, Annotation> current,
+                              int retries, long durationNanos) {
+        int added = 0;
+        int removed = 0;
+
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : current.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+                added++;
+            }
+        }
+
+        for (Class<? extends Annotation> annotationClass : previous.keySet()) {
+            if (!current.containsKey(annotationClass)) {
+                removed++;
+            }
+        }
+
+        try {
+            listener.annotationsEdited(element, added, removed, retries, durationNanos);
+        } catch (RuntimeException e) {
+            listenerFailed(e);
+        }
+    }
+
+    /**
+     * Passes the exception thrown by a listener notified after an edit was published
+     * to the uncaught exception handler of the current thread.
+     */
+    static void listenerFailed(RuntimeException exception) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+    }
+}
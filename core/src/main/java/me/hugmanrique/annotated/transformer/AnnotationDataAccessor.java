@@ -0,0 +1,154 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Provides access to the {@code Class.AnnotationData} internals of a class.
+ * Calls go through {@code static final} method handles the JIT can inline,
+ * and fall back to reflection if the handles cannot be created.
+ * The reflection objects are only accessible on Java 8, or if the module
+ * system opens {@code java.lang} to this library.
+ *
+ * @author agent
+ */
+@SuppressWarnings("unchecked")
+final class AnnotationDataAccessor {
+    static final Constructor<?> annotationDataConstructor; // Class.AnnotationData
+    static final Field annotationsField; // Class.AnnotationData
+    static final Field declaredAnnotationsField; // Class.AnnotationData
+    static final Method annotationDataMethod; // Class
+    static final Field classRedefinedCountField; // Class
+    static final Method casAnnotationDataMethod; // Class.Atomic
+
+    private static final MethodHandle annotationDataConstructorHandle; // (Map, Map, int) -> Object
+    private static final MethodHandle annotationsGetter; // (Object) -> Map
+    private static final MethodHandle declaredAnnotationsGetter; // (Object) -> Map
+    private static final MethodHandle annotationDataHandle; // (Class) -> Object
+    private static final MethodHandle classRedefinedCountGetter; // (Class) -> int
+    private static final MethodHandle casAnnotationDataHandle; // (Class, Object, Object) -> boolean
+
+    static {
+        try {
+            // Class.AnnotationData
+            Class<?> annotationDataClass = Class.forName("java.lang.Class$AnnotationData");
+            annotationDataConstructor = annotationDataClass.getDeclaredConstructor(Map.class, Map.class, int.class);
+            Handles.trySetAccessible(annotationDataConstructor);
+
+            annotationsField = annotationDataClass.getDeclaredField("annotations");
+            Handles.trySetAccessible(annotationsField);
+            declaredAnnotationsField = annotationDataClass.getDeclaredField("declaredAnnotations");
+            Handles.trySetAccessible(declaredAnnotationsField);
+
+            // Class
+            annotationDataMethod = Class.class.getDeclaredMethod("annotationData");
+            Handles.trySetAccessible(annotationDataMethod);
+            classRedefinedCountField = Class.class.getDeclaredField("classRedefinedCount");
+            Handles.trySetAccessible(classRedefinedCountField);
+
+            // Class.Atomic
+            Class<?> atomicClass = Class.forName("java.lang.Class$Atomic");
+            casAnnotationDataMethod = atomicClass.getDeclaredMethod("casAnnotationData", Class.class, annotationDataClass, annotationDataClass);
+            Handles.trySetAccessible(casAnnotationDataMethod);
+        } catch (ClassNotFoundException | NoSuchMethodException | NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+
+        annotationDataConstructorHandle = Handles.unreflectConstructor(annotationDataConstructor,
+            MethodType.methodType(Object.class, Map.class, Map.class, int.class));
+        annotationsGetter = Handles.unreflectGetter(annotationsField, MethodType.methodType(Map.class, Object.class));
+        declaredAnnotationsGetter = Handles.unreflectGetter(declaredAnnotationsField, MethodType.methodType(Map.class, Object.class));
+        annotationDataHandle = Handles.unreflect(annotationDataMethod, MethodType.methodType(Object.class, Class.class));
+        classRedefinedCountGetter = Handles.unreflectGetter(classRedefinedCountField, MethodType.methodType(int.class, Class.class));
+        casAnnotationDataHandle = Handles.unreflect(casAnnotationDataMethod,
+            MethodType.methodType(boolean.class, Class.class, Object.class, Object.class));
+    }
+
+    private AnnotationDataAccessor() {}
+
+    static Object newAnnotationData(Map<Class<? extends Annotation>, Annotation> annotations,
+                                    Map<Class<? extends Annotation>, Annotation> declaredAnnotations,
+                                    int classRedefinedCount) {
+        try {
+            if (annotationDataConstructorHandle != null) {
+                return (Object) annotationDataConstructorHandle.invokeExact(annotations, declaredAnnotations, classRedefinedCount);
+            }
+
+            return annotationDataConstructor.newInstance(annotations, declaredAnnotations, classRedefinedCount);
+        } catch (InvocationTargetException e) {
+            throw Handles.rethrow(e.getCause());
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    static Map<Class<? extends Annotation>, Annotation> annotations(Object annotationData) {
+        try {
+            if (annotationsGetter != null) {
+                return (Map<Class<? extends Annotation>, Annotation>) annotationsGetter.invokeExact(annotationData);
+            }
+
+            return (Map<Class<? extends Annotation>, Annotation>) annotationsField.get(annotationData);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    static Map<Class<? extends Annotation>, Annotation> declaredAnnotations(Object annotationData) {
+        try {
+            if (declaredAnnotationsGetter != null) {
+                return (Map<Class<? extends Annotation>, Annotation>) declaredAnnotationsGetter.invokeExact(annotationData);
+            }
+
+            return (Map<Class<? extends Annotation>, Annotation>) declaredAnnotationsField.get(annotationData);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    static Object annotationData(Class<?> clazz) {
+        try {
+            if (annotationDataHandle != null) {
+                return (Object) annotationDataHandle.invokeExact(clazz);
+            }
+
+            return annotationDataMethod.invoke(clazz);
+        } catch (InvocationTargetException e) {
+            throw Handles.rethrow(e.getCause());
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    static int classRedefinedCount(Class<?> clazz) {
+        try {
+            if (classRedefinedCountGetter != null) {
+                return (int) classRedefinedCountGetter.invokeExact(clazz);
+            }
+
+            return classRedefinedCountField.getInt(clazz);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    static boolean casAnnotationData(Class<?> clazz, Object oldData, Object newData) {
+        try {
+            if (casAnnotationDataHandle != null) {
+                return (boolean) casAnnotationDataHandle.invokeExact(clazz, oldData, newData);
+            }
+
+            return (boolean) casAnnotationDataMethod.invoke(null, clazz, oldData, newData);
+        } catch (InvocationTargetException e) {
+            throw Handles.rethrow(e.getCause());
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects a batch of annotation changes for a single element and applies
+ * all of them at once, rebuilding and publishing the annotations map only once.
+ * Changes are applied in the order they were added.
+ *
+ * @param <K> the annotated element to be transformed
+ * @author agent
+ */
+public final class AnnotationEdit<K extends AnnotatedElement> {
+    private final AbstractAnnotationTransformer<K> transformer;
+    private final K element;
+    private final List<Consumer<Map<Class<? extends Annotation>, Annotation>>> changes = new ArrayList<>();
+    private RepeatChange lastRepeat;
+    private boolean committed;
+
+    AnnotationEdit(AbstractAnnotationTransformer<K> transformer, K element) {
+        this.transformer = Objects.requireNonNull(transformer, "transformer");
+        this.element = Objects.requireNonNull(element, "element");
+    }
+
+    /**
+     * Adds the annotation to the edited element.
+     *
+     * @param annotation the annotation to add
+     * @return this edit
+     */
+    public <T extends Annotation> AnnotationEdit<K> add(T annotation) {
+        Objects.requireNonNull(annotation, "annotation");
+        changes.add(annotations -> annotations.put(annotation.annotationType(), annotation));
+
+        return this;
+    }
+
+    /**
+     * Creates an annotation with the passed elements and adds it to the edited element.
+     *
+     * @param annotationClass the annotation type
+     * @param elementsMap the named elements key-value representation
+     * @return this edit
+     */
+    public <T extends Annotation> AnnotationEdit<K> add(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        return add(AbstractAnnotationTransformer.annotationForMap(annotationClass, elementsMap));
+    }
+
+    /**
+     * Adds the repeatable annotation to the edited element. Unlike {@link #add(Annotation)}, the annotations
+     * of the same type already present are kept: all of them are stored in a single container annotation,
+     * so {@link AnnotatedElement#getAnnotationsByType(Class)} returns every one of them.
+     * Consecutive repeated annotations of the same type are folded into the container at once.
+     *
+     * @param annotation the repeatable annotation to add
+     * @return this edit
+     * @throws IllegalArgumentException if the annotation type is not {@link java.lang.annotation.Repeatable}
+     */
+    public <T extends Annotation> AnnotationEdit<K> repeat(T annotation) {
+        Objects.requireNonNull(annotation, "annotation");
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        RepeatableAnnotations.containerOf(annotationType);
+
+        if (lastRepeat != null && lastRepeat.annotationType == annotationType && changes.get(changes.size() - 1) == lastRepeat) {
+            lastRepeat.annotations.add(annotation);
+        } else {
+            lastRepeat = new RepeatChange(annotationType, annotation);
+            changes.add(lastRepeat);
+        }
+
+        return this;
+    }
+
+    /**
+     * Creates a repeatable annotation with the passed elements and adds it to the edited element.
+     *
+     * @param annotationClass the repeatable annotation type
+     * @param elementsMap the named elements key-value representation
+     * @return this edit
+     * @throws IllegalArgumentException if the annotation type is not {@link java.lang.annotation.Repeatable}
+     * @see #repeat(Annotation)
+     */
+    public <T extends Annotation> AnnotationEdit<K> repeat(Class<T> annotationClass, Map<String, Object> elementsMap) {
+        RepeatableAnnotations.containerOf(annotationClass);
+
+        return repeat(AbstractAnnotationTransformer.annotationForMap(annotationClass, elementsMap));
+    }
+
+    /**
+     * Removes the annotation with type {@code annotationClass} from the edited element.
+     *
+     * @param annotationClass the annotation type to be removed
+     * @return this edit
+     */
+    public AnnotationEdit<K> remove(Class<? extends Annotation> annotationClass) {
+        Objects.requireNonNull(annotationClass, "annotation class");
+        changes.add(annotations -> annotations.remove(annotationClass));
+
+        return this;
+    }
+
+    /**
+     * Applies all the collected changes to the element.
+     *
+     * @throws IllegalStateException if this edit was already committed or if a reflection exception occurs
+     */
+    public void commit() {
+        markCommitted();
+
+        if (!changes.isEmpty()) {
+            transformer.apply(element, this::applyChanges);
+        }
+    }
+
+    /**
+     * Applies all the collected changes to the element until the returned override is closed.
+     *
+     * @return the override that reverts the changes when closed
+     * @throws IllegalStateException if this edit was already committed or if a reflection exception occurs
+     * @throws UnsupportedOperationException if the transformer doesn't edit the running JVM
+     */
+    public AnnotationOverride<K> override() {
+        markCommitted();
+
+        return transformer.applyOverride(element, this::applyChanges);
+    }
+
+    /**
+     * Replaces an open override of the element by the collected changes with a single atomic swap.
+     * The changes are applied to the annotations the element had before the replaced override,
+     * keeping the changes made to the element since through other means, so the annotations
+     * changed by both overrides are never briefly reverted. The replaced override gets closed.
+     *
+     * @param replaced the override to replace
+     * @return the override that restores the annotations the element had before {@code replaced} when closed
+     * @throws IllegalArgumentException if {@code replaced} edits another element
+     * @throws IllegalStateException if this edit was already committed, if {@code replaced} is closed
+     *                               or if a reflection exception occurs
+     */
+    public AnnotationOverride<K> override(AnnotationOverride<K> replaced) {
+        Objects.requireNonNull(replaced, "replaced");
+
+        if (!replaced.getElement().equals(element)) {
+            throw new IllegalArgumentException("The replaced override edits " + replaced.getElement());
+        }
+
+        markCommitted();
+
+        return replaced.replace(this::applyChanges);
+    }
+
+    private void markCommitted() {
+        if (committed) {
+            throw new IllegalStateException("Edit already committed");
+        }
+
+        committed = true;
+    }
+
+    private void applyChanges(Map<Class<? extends Annotation>, Annotation> annotations) {
+        changes.forEach(change -> change.accept(annotations));
+    }
+
+    private static final class RepeatChange implements Consumer<Map<Class<? extends Annotation>, Annotation>> {
+        private final Class<? extends Annotation> annotationType;
+        private final List<Annotation> annotations = new ArrayList<>();
+
+        private RepeatChange(Class<? extends Annotation> annotationType, Annotation annotation) {
+            this.annotationType = annotationType;
+            this.annotations.add(annotation);
+        }
+
+        @Override
+        public void accept(Map<Class<? extends Annotation>, Annotation> declaredAnnotations) {
+            RepeatableAnnotations.add(declaredAnnotations, annotationType, annotations);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.*;
+
+/**
+ * Maps annotation types to the elements that declare them, for the elements edited
+ * through the transformers while this index is installed with
+ * {@link me.hugmanrique.annotated.Annotated#setAnnotationIndex(AnnotationIndex)}.
+ * Annotations present in the class files and inherited annotations aren't indexed.
+ * <p>
+ * Indexed members are held by their declaring class, so they stay indexed while the class
+ * is loaded even if the member copy passed to the transformer is discarded, and indexed
+ * classes can still be unloaded. Members are compared with {@link Object#equals(Object)},
+ * as reflection returns a new copy of a member every time it is looked up.
+ *
+ * @author agent
+ */
+public final class AnnotationIndex {
+    private static final Method getDeclaringRecord = findGetDeclaringRecord();
+
+    // Weakly references the classes declaring an element annotated with the annotation type
+    private final ClassValue<Set<Class<?>>> declaringClasses = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> annotationClass) {
+            return Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        }
+    };
+
+    // The indexed elements declared by a class, by annotation type
+    private final ClassValue<Map<Class<? extends Annotation>, Set<AnnotatedElement>>> declaredElements =
+        new ClassValue<Map<Class<? extends Annotation>, Set<AnnotatedElement>>>() {
+            @Override
+            protected Map<Class<? extends Annotation>, Set<AnnotatedElement>> computeValue(Class<?> clazz) {
+                return new HashMap<>();
+            }
+        };
+
+    /**
+     * Returns the indexed elements that declare an annotation of the passed type.
+     *
+     * @param annotationClass the annotation type
+     * @return a copy of the elements annotated with {@code annotationClass}
+     */
+    public Set<AnnotatedElement> getElements(Class<? extends Annotation> annotationClass) {
+        return getElements(annotationClass, AnnotatedElement.class);
+    }
+
+    /**
+     * Returns the indexed elements of type {@code elementType} that declare an annotation of the passed type,
+     * e.g. {@code index.getElements(Route.class, Method.class)}.
+     *
+     * @param annotationClass the annotation type
+     * @param elementType the type of the returned elements
+     * @return a copy of the elements of type {@code elementType} annotated with {@code annotationClass}
+     */
+    public <K extends AnnotatedElement> Set<K> getElements(Class<? extends Annotation> annotationClass, Class<K> elementType) {
+        Set<Class<?>> classes = declaringClasses.get(annotationClass);
+        List<Class<?>> classesCopy;
+
+        synchronized (classes) {
+            classesCopy = new ArrayList<>(classes);
+        }
+
+        Set<K> result = new HashSet<>();
+
+        for (Class<?> clazz : classesCopy) {
+            Map<Class<? extends Annotation>, Set<AnnotatedElement>> elements = declaredElements.get(clazz);
+
+            synchronized (elements) {
+                for (AnnotatedElement element : elements.getOrDefault(annotationClass, Collections.emptySet())) {
+                    if (elementType.isInstance(element)) {
+                        result.add(elementType.cast(element));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Updates the entries of the annotation types whose declared annotation changed.
+     * The current annotations of the element are read while holding the lock of its
+     * declaring class entries, so concurrent updates of the same element leave the index consistent.
+     */
+    void update(AnnotatedElement element, Map<Class<? extends Annotation>, Annotation> previous,
+                Map<Class<? extends Annotation>, Annotation> current) {
+        Class<?> declaringClass = declaringClassOf(element);
+
+        current.forEach((annotationClass, annotation) -> {
+            if (previous.get(annotationClass) != annotation) {
+                update(declaringClass, element, annotationClass);
+            }
+        });
+
+        previous.keySet().forEach(annotationClass -> {
+            if (!current.containsKey(annotationClass)) {
+                update(declaringClass, element, annotationClass);
+            }
+        });
+    }
+
+    private void update(Class<?> declaringClass, AnnotatedElement element, Class<? extends Annotation> annotationClass) {
+        Map<Class<? extends Annotation>, Set<AnnotatedElement>> elements = declaredElements.get(declaringClass);
+        boolean added;
+
+        synchronized (elements) {
+            if (element.getDeclaredAnnotation(annotationClass) != null) {
+                added = elements.computeIfAbsent(annotationClass, key -> new HashSet<>()).add(element);
+            } else {
+                Set<AnnotatedElement> annotated = elements.get(annotationClass);
+                added = false;
+
+                if (annotated != null && annotated.remove(element) && annotated.isEmpty()) {
+                    elements.remove(annotationClass);
+                }
+            }
+        }
+
+        if (added) {
+            declaringClasses.get(annotationClass).add(declaringClass);
+        }
+    }
+
+    private static Class<?> declaringClassOf(AnnotatedElement element) {
+        if (element instanceof Class) {
+            return (Class<?>) element;
+        } else if (element instanceof Member) {
+            return ((Member) element).getDeclaringClass();
+        } else if (element instanceof Parameter) {
+            return ((Parameter) element).getDeclaringExecutable().getDeclaringClass();
+        } else if (getDeclaringRecord != null && getDeclaringRecord.getDeclaringClass().isInstance(element)) {
+            try {
+                return (Class<?>) getDeclaringRecord.invoke(element);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported annotated element " + element);
+    }
+
+    private static Method findGetDeclaringRecord() {
+        try {
+            return Class.forName("java.lang.reflect.RecordComponent").getMethod("getDeclaringRecord");
+        } catch (ReflectiveOperationException e) {
+            return null; // Records are not supported by this JVM
+        }
+    }
+}
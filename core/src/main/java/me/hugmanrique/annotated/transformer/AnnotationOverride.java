@@ -0,0 +1,147 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.AnnotationMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Reverts a temporary annotation change when closed:
+ *
+ * <pre>{@code
+ * try (AnnotationOverride<Class<?>> override = Annotated.clazz().override(Foo.class, annotation)) {
+ *     // Foo.class is annotated with annotation
+ * }
+ * }</pre>
+ *
+ * If the element wasn't edited since the override, closing reinstalls the annotation maps
+ * the element had before it with a single atomic swap. Otherwise only the annotations
+ * changed by the override that weren't changed since get reverted.
+ *
+ * @param <K> the annotated element
+ * @author agent
+ */
+public final class AnnotationOverride<K extends AnnotatedElement> implements AutoCloseable {
+    private final AbstractAnnotationTransformer<K> transformer;
+    private final AnnotationSnapshot<K> previous;
+    private final AnnotationMap installed;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    AnnotationOverride(AbstractAnnotationTransformer<K> transformer, AnnotationSnapshot<K> previous, AnnotationMap installed) {
+        this.transformer = transformer;
+        this.previous = previous;
+        this.installed = installed;
+    }
+
+    /**
+     * @return the edited element
+     */
+    public K getElement() {
+        return previous.getElement();
+    }
+
+    /**
+     * @return the annotations of the element before the override
+     */
+    public AnnotationSnapshot<K> getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Reverts the override. Subsequent calls have no effect.
+     *
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            transformer.replace(previous.getElement(), this::reverted);
+        } catch (RuntimeException | Error e) {
+            closed.set(false); // Still installed
+            throw e;
+        }
+    }
+
+    /**
+     * Closes this override and applies the editor to the reverted annotations with a single
+     * publication, so the annotations changed by both overrides are never briefly reverted.
+     *
+     * @return the override that restores the annotations the element had before this override
+     * @throws IllegalStateException if this override is closed or if a reflection exception occurs
+     */
+    AnnotationOverride<K> replace(Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        if (!closed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Override already closed");
+        }
+
+        K element = previous.getElement();
+
+        try {
+            AnnotationMap[] maps = transformer.replace(element, current -> transformer.edit(element, reverted(current), editor));
+
+            return new AnnotationOverride<>(transformer, previous, maps[1]);
+        } catch (RuntimeException | Error e) {
+            closed.set(false); // Still installed
+            throw e;
+        }
+    }
+
+    /**
+     * @return the annotation map with the changes of this override reverted
+     */
+    private AnnotationMap reverted(AnnotationMap current) {
+        if (current.getDeclaredAnnotations() == installed.getDeclaredAnnotations()) {
+            // Nobody edited the element since the override
+            return transformer.reinstall(previous);
+        }
+
+        return transformer.edit(previous.getElement(), current, this::revert);
+    }
+
+    private void revert(Map<Class<? extends Annotation>, Annotation> annotations) {
+        Map<Class<? extends Annotation>, Annotation> previousAnnotations = previous.annotationMap.getDeclaredAnnotations();
+        Map<Class<? extends Annotation>, Annotation> installedAnnotations = installed.getDeclaredAnnotations();
+
+        installedAnnotations.forEach((annotationClass, annotation) -> {
+            if (previousAnnotations.get(annotationClass) != annotation) {
+                revert(annotations, annotationClass);
+            }
+        });
+
+        previousAnnotations.keySet().forEach(annotationClass -> {
+            if (!installedAnnotations.containsKey(annotationClass)) {
+                revert(annotations, annotationClass);
+            }
+        });
+    }
+
+    private void revert(Map<Class<? extends Annotation>, Annotation> annotations, Class<? extends Annotation> annotationClass) {
+        if (annotations.get(annotationClass) != installed.getDeclaredAnnotations().get(annotationClass)) {
+            // Changed since the override, keep the newer annotation
+            return;
+        }
+
+        Annotation previousAnnotation = previous.annotationMap.getDeclaredAnnotations().get(annotationClass);
+
+        if (previousAnnotation != null) {
+            annotations.put(annotationClass, previousAnnotation);
+        } else {
+            annotations.remove(annotationClass);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationOverride{" +
+            "element=" + getElement() +
+            ", closed=" + closed.get() +
+            '}';
+    }
+}
@@ -0,0 +1,58 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.AnnotationMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable capture of the annotations of an element, which can be reinstalled
+ * with {@link AnnotationTransformer#restore(AnnotationSnapshot)}. A snapshot keeps
+ * the captured maps, so restoring it doesn't recompute any annotation.
+ *
+ * @param <K> the annotated element
+ * @author agent
+ */
+public final class AnnotationSnapshot<K extends AnnotatedElement> {
+    private final K element;
+    final AnnotationMap annotationMap;
+    final Map<Class<? extends Annotation>, Annotation> superclassAnnotations; // The annotations the map inherits from
+
+    AnnotationSnapshot(K element, AnnotationMap annotationMap, Map<Class<? extends Annotation>, Annotation> superclassAnnotations) {
+        this.element = Objects.requireNonNull(element, "element");
+        this.annotationMap = Objects.requireNonNull(annotationMap, "annotation map");
+        this.superclassAnnotations = Objects.requireNonNull(superclassAnnotations, "superclass annotations");
+    }
+
+    /**
+     * @return the captured element
+     */
+    public K getElement() {
+        return element;
+    }
+
+    /**
+     * @return the annotations of the element, including the inherited ones
+     */
+    public Map<Class<? extends Annotation>, Annotation> getAnnotations() {
+        return Collections.unmodifiableMap(annotationMap.getAnnotations());
+    }
+
+    /**
+     * @return the annotations declared by the element
+     */
+    public Map<Class<? extends Annotation>, Annotation> getDeclaredAnnotations() {
+        return Collections.unmodifiableMap(annotationMap.getDeclaredAnnotations());
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationSnapshot{" +
+            "element=" + element +
+            ", declaredAnnotations=" + annotationMap.getDeclaredAnnotations().values() +
+            '}';
+    }
+}
@@ -0,0 +1,98 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Map;
+
+/**
+ * Provides utilities to modify annotations at runtime.
+ *
+ * @param <K> the annotated element to be transformed
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+public interface AnnotationTransformer<K extends AnnotatedElement> {
+
+    /**
+     * Creates an annotation with the passed elements and adds it to the passed element.
+     *
+     * @param element the element the annotation will be added to
+     * @param annotationClass the annotation type
+     * @param elementsMap the named elements key-value representation
+     * @throws IllegalArgumentException if the map contains an unknown element or a value of the wrong type
+     * @throws java.lang.annotation.IncompleteAnnotationException if an element without a default value is missing
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    <T extends Annotation> void addAnnotation(K element, Class<T> annotationClass, Map<String, Object> elementsMap);
+
+    /**
+     * Adds the annotation to the passed element.
+     *
+     * @param element the element the annotation will be added to
+     * @param annotation the annotation type
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    <T extends Annotation> void addAnnotation(K element, T annotation);
+
+    /**
+     * Removes the annotation with type {@code annotationClass} from the passed element.
+     *
+     * @param element the element the annotation will be removed from
+     * @param annotationClass the annotation type to be removed
+     * @return the removed annotation, or {@code null} if not present
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    <T extends Annotation> T removeAnnotation(K element, Class<T> annotationClass);
+
+    /**
+     * Starts a batch of annotation changes on the passed element. The changes
+     * are applied at once when {@link AnnotationEdit#commit()} gets called.
+     *
+     * @param element the element to be edited
+     * @return a new annotation edit
+     */
+    AnnotationEdit<K> edit(K element);
+
+    /**
+     * Adds the annotation to the passed element until the returned override is closed.
+     *
+     * @param element the element the annotation will be added to
+     * @param annotation the annotation to add
+     * @return the override that reverts the change when closed
+     * @throws IllegalStateException if a reflection exception occurs
+     * @throws UnsupportedOperationException if the transformer doesn't edit the running JVM
+     * @see AnnotationEdit#override()
+     */
+    <T extends Annotation> AnnotationOverride<K> override(K element, T annotation);
+
+    /**
+     * Captures the current annotations of the passed element.
+     *
+     * @param element the element to capture
+     * @return the annotation snapshot
+     * @throws IllegalStateException if a reflection exception occurs
+     * @throws UnsupportedOperationException if the transformer doesn't edit the running JVM
+     */
+    AnnotationSnapshot<K> snapshot(K element);
+
+    /**
+     * Atomically reinstalls the annotations captured by the snapshot on its element,
+     * discarding all the changes made since.
+     *
+     * @param snapshot the annotation snapshot
+     * @throws IllegalStateException if a reflection exception occurs
+     * @throws UnsupportedOperationException if the transformer doesn't edit the running JVM
+     */
+    void restore(AnnotationSnapshot<K> snapshot);
+
+    /**
+     * Returns the annotations present on the element, as seen by {@link AnnotatedElement#getAnnotation(Class)},
+     * without copying them to a new array like {@link AnnotatedElement#getAnnotations()} does.
+     *
+     * @param element the element
+     * @return an immutable map of the annotations present on the element
+     * @throws IllegalStateException if a reflection exception occurs
+     * @throws UnsupportedOperationException if the transformer doesn't edit the running JVM
+     */
+    Map<Class<? extends Annotation>, Annotation> annotations(K element);
+}
@@ -0,0 +1,186 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.AnnotationArrayMap;
+import me.hugmanrique.annotated.AnnotationMap;
+import me.hugmanrique.annotated.metrics.TransformListener;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Provides utilities to modify class annotations at runtime.
+ * Supports annotations with a {@link ElementType#TYPE} target.
+ * <p>
+ * Changes to {@link Inherited} annotations are propagated to the known subclasses
+ * of the edited class: the classes edited through this transformer and the ones
+ * registered with {@link #track(Class)}.
+ *
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+public final class ClassAnnotationTransformer extends AbstractAnnotationTransformer<Class<?>> {
+    public static final Field annotationsField = AnnotationDataAccessor.annotationsField; // Class.AnnotationData
+    public static final Field declaredAnnotationsField = AnnotationDataAccessor.declaredAnnotationsField; // Class.AnnotationData
+
+    private static final SubclassRegistry subclassRegistry = new SubclassRegistry();
+    private static final EditCombiner<Class<?>> combiner = new EditCombiner<>(ClassAnnotationTransformer::publish);
+
+    /**
+     * Registers the class and its superclasses so that {@link Inherited} annotation changes
+     * made to any of its superclasses update the annotations of the class. Subclasses that
+     * are neither tracked nor edited keep their cached inherited annotations until their
+     * annotation data is recomputed by the JDK.
+     *
+     * @param clazz the class to track
+     */
+    public void track(Class<?> clazz) {
+        subclassRegistry.register(clazz);
+    }
+
+    @Override
+    AnnotationMap[] replace(Class<?> clazz, UnaryOperator<AnnotationMap> function) {
+        subclassRegistry.register(clazz);
+
+        return combiner.apply(clazz, function);
+    }
+
+    /**
+     * Replaces the annotations of the class and propagates the inherited changes to its subclasses.
+     */
+    private static AnnotationMap[] publish(Class<?> clazz, UnaryOperator<AnnotationMap> function, List<Runnable> notifications) {
+        AnnotationMap[] maps = update(clazz, function, notifications);
+
+        if (AnnotationMap.inheritedAnnotationsDiffer(maps[0].getAnnotations(), maps[1].getAnnotations())) {
+            propagateInherited(clazz, notifications);
+        }
+
+        return maps;
+    }
+
+    @Override
+    Map<Class<? extends Annotation>, Annotation> presentAnnotations(Class<?> clazz) {
+        return AnnotationDataAccessor.annotations(AnnotationDataAccessor.annotationData(clazz));
+    }
+
+    @Override
+    AnnotationMap currentAnnotations(Class<?> clazz) {
+        Object annotationData = AnnotationDataAccessor.annotationData(clazz);
+
+        return new AnnotationMap(
+            AnnotationDataAccessor.annotations(annotationData),
+            AnnotationDataAccessor.declaredAnnotations(annotationData)
+        );
+    }
+
+    @Override
+    AnnotationMap edit(Class<?> clazz, AnnotationMap annotationMap, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        return annotationMap.edit(editor, superclassAnnotations(clazz));
+    }
+
+    /**
+     * Recomputes the annotations map of the known subclasses of the class,
+     * recursing into the subclasses whose inherited annotations changed.
+     */
+    private static void propagateInherited(Class<?> clazz, List<Runnable> notifications) {
+        for (Class<?> subclass : subclassRegistry.getDirectSubclasses(clazz)) {
+            AnnotationMap[] maps = update(subclass, annotationMap -> annotationMap.inherit(superclassAnnotationsOf(subclass)), notifications);
+
+            if (AnnotationMap.inheritedAnnotationsDiffer(maps[0].getAnnotations(), maps[1].getAnnotations())) {
+                propagateInherited(subclass, notifications);
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the annotation data of the class. The update is retried
+     * if the class was redefined concurrently, since the JDK would discard the installed data.
+     * The index, change listeners and transform listener are notified by the added notification.
+     *
+     * @return the previous and the installed annotation maps
+     */
+    private static AnnotationMap[] update(Class<?> clazz, UnaryOperator<AnnotationMap> function, List<Runnable> notifications) {
+        TransformListener listener = Annotated.transformListener();
+        boolean notify = listener != TransformListener.noop();
+        long startNanos = notify ? System.nanoTime() : 0;
+        int retries = 0;
+        int staleUpdates = 0;
+
+        while (true) { // Retry loop
+            int classRedefinedCount = AnnotationDataAccessor.classRedefinedCount(clazz);
+            Object annotationData = AnnotationDataAccessor.annotationData(clazz);
+
+            // We have a null or stale AnnotationData, let's create a new instance
+            AnnotationMap annotationMap = new AnnotationMap(
+                AnnotationDataAccessor.annotations(annotationData),
+                AnnotationDataAccessor.declaredAnnotations(annotationData)
+            );
+            AnnotationMap newAnnotationMap = function.apply(annotationMap);
+            Object newAnnotationData = createAnnotationData(newAnnotationMap, classRedefinedCount);
+
+            if (!AnnotationDataAccessor.casAnnotationData(clazz, annotationData, newAnnotationData)) {
+                retries++;
+                continue;
+            }
+
+            if (AnnotationDataAccessor.classRedefinedCount(clazz) != classRedefinedCount) {
+                staleUpdates++;
+                continue;
+            }
+
+            // Successfully installed new annotation data
+            long durationNanos = notify ? System.nanoTime() - startNanos : 0;
+            int finalRetries = retries;
+            int finalStaleUpdates = staleUpdates;
+
+            notifications.add(() -> {
+                for (int i = 0; i < finalStaleUpdates; i++) {
+                    try {
+                        listener.staleAnnotationData(clazz);
+                    } catch (RuntimeException e) {
+                        listenerFailed(e);
+                    }
+                }
+
+                indexChanges(clazz, annotationMap.getDeclaredAnnotations(), newAnnotationMap.getDeclaredAnnotations());
+                fireChanges(clazz, annotationMap.getAnnotations(), newAnnotationMap.getAnnotations());
+
+                if (notify) {
+                    editCompleted(listener, clazz, annotationMap.getDeclaredAnnotations(),
+                        newAnnotationMap.getDeclaredAnnotations(), finalRetries, durationNanos);
+                }
+            });
+
+            return new AnnotationMap[] { annotationMap, newAnnotationMap };
+        }
+    }
+
+    @Override
+    Map<Class<? extends Annotation>, Annotation> superclassAnnotations(Class<?> clazz) {
+        return superclassAnnotationsOf(clazz);
+    }
+
+    private static Map<Class<? extends Annotation>, Annotation> superclassAnnotationsOf(Class<?> clazz) {
+        Class<?> superclass = clazz.getSuperclass();
+
+        if (superclass == null) {
+            return AnnotationArrayMap.empty();
+        }
+
+        return AnnotationDataAccessor.annotations(AnnotationDataAccessor.annotationData(superclass));
+    }
+
+    private static Object createAnnotationData(AnnotationMap annotationMap, int classRedefinedCount) {
+        return AnnotationDataAccessor.newAnnotationData(
+            annotationMap.getAnnotations(),
+            annotationMap.getDeclaredAnnotations(),
+            classRedefinedCount
+        );
+    }
+}
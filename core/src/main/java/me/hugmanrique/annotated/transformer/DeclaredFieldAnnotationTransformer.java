@@ -0,0 +1,331 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.AnnotationArrayMap;
+import me.hugmanrique.annotated.AnnotationMap;
+import me.hugmanrique.annotated.metrics.TransformListener;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Provides a generic implementation for {@link Member} types that have
+ * an internal {@code declaredAnnotations} field.
+ * Edits never modify the published map: a new map is built and atomically
+ * swapped in, retrying if another thread published a map in the meantime.
+ * Readers therefore never observe a map being modified.
+ *
+ * @param <K> the annotated element to be transformed
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+@SuppressWarnings("unchecked")
+public abstract class DeclaredFieldAnnotationTransformer<K extends AnnotatedElement> extends AbstractAnnotationTransformer<K> {
+    private final Field declaredAnnotationsField;
+    private final MethodHandle declaredAnnotationsGetter; // (Object) -> Map
+    private final MethodHandle declaredAnnotationsSetter; // (Object, Map) -> void
+    private final long declaredAnnotationsOffset; // -1 if Unsafe is not available
+
+    protected DeclaredFieldAnnotationTransformer(Field declaredAnnotationsField) {
+        this(declaredAnnotationsField, false);
+    }
+
+    /**
+     * @param declaredAnnotationsField the field that caches the declared annotations map of the members
+     * @param lockedReads whether the JDK only reads the field while holding the member lock,
+     *                    in which case new maps are published while holding the lock as well
+     */
+    protected DeclaredFieldAnnotationTransformer(Field declaredAnnotationsField, boolean lockedReads) {
+        this.declaredAnnotationsField = Objects.requireNonNull(declaredAnnotationsField);
+        this.declaredAnnotationsGetter = Handles.unreflectGetter(declaredAnnotationsField, MethodType.methodType(Map.class, Object.class));
+        this.declaredAnnotationsSetter = Handles.unreflectSetter(declaredAnnotationsField, MethodType.methodType(void.class, Object.class, Map.class));
+        this.declaredAnnotationsOffset = UnsafeAccess.unsafe != null && !lockedReads ? UnsafeAccess.unsafe.objectFieldOffset(declaredAnnotationsField) : -1;
+    }
+
+    /**
+     * Returns the members declared by the passed class and its superclasses, excluding
+     * {@link Object}: its members are shared by every class, so editing them would change
+     * the annotations of e.g. {@link Object#hashCode()} for the whole JVM.
+     * Use {@link Collection#parallelStream()} and {@link Stream#flatMap(Function)}
+     * to get the members of many classes in parallel.
+     *
+     * @param clazz the class whose members are returned
+     * @return a stream of the members declared by the class hierarchy below {@link Object}
+     */
+    public Stream<K> members(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(current);
+        }
+
+        return hierarchy.stream().flatMap(this::declaredMembers);
+    }
+
+    /**
+     * Returns the members declared by the passed class.
+     *
+     * @param clazz the class whose members are returned
+     * @return a stream of the declared members
+     */
+    protected abstract Stream<K> declaredMembers(Class<?> clazz);
+
+    /**
+     * Adds the annotation to all the passed members. The stream may be parallel.
+     *
+     * @param members the members the annotation will be added to
+     * @param annotation the annotation to add
+     * @return the number of edited members
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    public <T extends Annotation> long addAnnotation(Stream<? extends K> members, T annotation) {
+        Objects.requireNonNull(annotation, "annotation");
+        Consumer<Map<Class<? extends Annotation>, Annotation>> editor = annotations -> annotations.put(annotation.annotationType(), annotation);
+
+        return members.mapToLong(member -> {
+            apply(member, editor);
+            return 1;
+        }).sum();
+    }
+
+    /**
+     * Adds the annotation to the members declared by the class hierarchy that match the filter.
+     *
+     * @param clazz the class whose members will be edited
+     * @param filter the predicate members must match
+     * @param annotation the annotation to add
+     * @return the number of edited members
+     * @throws IllegalStateException if a reflection exception occurs
+     * @see #members(Class)
+     */
+    public <T extends Annotation> long addAnnotation(Class<?> clazz, Predicate<? super K> filter, T annotation) {
+        return addAnnotation(members(clazz).filter(filter), annotation);
+    }
+
+    /**
+     * Creates a single annotation with the passed elements and adds it to the
+     * members declared by the class hierarchy that match the filter.
+     *
+     * @param clazz the class whose members will be edited
+     * @param filter the predicate members must match
+     * @param annotationClass the annotation type
+     * @param elementsMap the named elements key-value representation
+     * @return the number of edited members
+     * @throws IllegalStateException if a reflection exception occurs
+     * @see #members(Class)
+     */
+    public <T extends Annotation> long addAnnotation(Class<?> clazz, Predicate<? super K> filter,
+                                                     Class<T> annotationClass, Map<String, Object> elementsMap) {
+        return addAnnotation(clazz, filter, annotationForMap(annotationClass, elementsMap));
+    }
+
+    /**
+     * Removes the annotation with type {@code annotationClass} from all the passed members.
+     * The stream may be parallel.
+     *
+     * @param members the members the annotation will be removed from
+     * @param annotationClass the annotation type to be removed
+     * @return the number of members the annotation was removed from
+     * @throws IllegalStateException if a reflection exception occurs
+     */
+    public <T extends Annotation> long removeAnnotation(Stream<? extends K> members, Class<T> annotationClass) {
+        Objects.requireNonNull(annotationClass, "annotation class");
+        Consumer<Map<Class<? extends Annotation>, Annotation>> editor = annotations -> annotations.remove(annotationClass);
+
+        return members
+            .filter(member -> isDeclared(member, annotationClass))
+            .mapToLong(member -> apply(member, editor).containsKey(annotationClass) ? 1 : 0)
+            .sum();
+    }
+
+    /**
+     * Removes the annotation with type {@code annotationClass} from the members
+     * declared by the class hierarchy that match the filter.
+     *
+     * @param clazz the class whose members will be edited
+     * @param filter the predicate members must match
+     * @param annotationClass the annotation type to be removed
+     * @return the number of members the annotation was removed from
+     * @throws IllegalStateException if a reflection exception occurs
+     * @see #members(Class)
+     */
+    public <T extends Annotation> long removeAnnotation(Class<?> clazz, Predicate<? super K> filter, Class<T> annotationClass) {
+        return removeAnnotation(members(clazz).filter(filter), annotationClass);
+    }
+
+    /**
+     * Returns the members the JDK creates the copies returned by reflection from.
+     * Edits are applied to the first root and published to the others, so that
+     * the edited annotations are visible through every member lookup.
+     *
+     * @param member the edited member
+     * @return the roots of the member, or an empty list if only the member itself can be edited
+     */
+    protected List<K> roots(K member) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    AnnotationMap[] replace(K member, UnaryOperator<AnnotationMap> function) {
+        checkMember(member);
+
+        TransformListener listener = Annotated.transformListener();
+        boolean notify = listener != TransformListener.noop();
+        long startNanos = notify ? System.nanoTime() : 0;
+        int retries = 0;
+        List<K> roots = roots(member);
+        K target = roots.isEmpty() ? member : roots.get(0);
+
+        while (true) { // Retry loop
+            AnnotationMap annotationMap = annotationsOf(target);
+            AnnotationMap newAnnotationMap = function.apply(annotationMap);
+
+            if (compareAndSetDeclaredAnnotations(target, annotationMap.getDeclaredAnnotations(), newAnnotationMap.getDeclaredAnnotations())) {
+                // Successfully installed new annotations map
+                if (target != member) {
+                    for (int i = 1; i < roots.size(); i++) {
+                        publish(target, roots.get(i));
+                    }
+
+                    publish(target, member);
+                }
+
+                indexChanges(member, annotationMap.getDeclaredAnnotations(), newAnnotationMap.getDeclaredAnnotations());
+                fireChanges(member, annotationMap.getDeclaredAnnotations(), newAnnotationMap.getDeclaredAnnotations());
+
+                if (notify) {
+                    editCompleted(listener, member, annotationMap.getDeclaredAnnotations(),
+                        newAnnotationMap.getDeclaredAnnotations(), retries, System.nanoTime() - startNanos);
+                }
+
+                return new AnnotationMap[] { annotationMap, newAnnotationMap };
+            }
+
+            retries++;
+        }
+    }
+
+    @Override
+    Map<Class<? extends Annotation>, Annotation> presentAnnotations(K member) {
+        checkMember(member);
+
+        // The map of this member, which could be stale if it was read before editing another copy
+        return annotationsOf(member).getDeclaredAnnotations();
+    }
+
+    private void checkMember(K member) {
+        if (!declaredAnnotationsField.getDeclaringClass().isInstance(member)) {
+            throw new IllegalArgumentException("Expected a " + declaredAnnotationsField.getDeclaringClass().getSimpleName() + ", got " + member);
+        }
+    }
+
+    @Override
+    AnnotationMap currentAnnotations(K member) {
+        List<K> roots = roots(member);
+        return annotationsOf(roots.isEmpty() ? member : roots.get(0));
+    }
+
+    @Override
+    boolean isDeclared(K member, Class<? extends Annotation> annotationClass) {
+        return currentAnnotations(member).getDeclaredAnnotations().containsKey(annotationClass);
+    }
+
+    /**
+     * Publishes the annotations map of the source member to the target member,
+     * unless a newer map is concurrently installed in the source.
+     */
+    private void publish(K source, K target) {
+        while (true) { // Retry loop
+            Map<Class<? extends Annotation>, Annotation> annotations = getDeclaredAnnotations(source);
+            Map<Class<? extends Annotation>, Annotation> targetAnnotations = getDeclaredAnnotations(target);
+
+            if (targetAnnotations == annotations) {
+                return;
+            }
+
+            if (compareAndSetDeclaredAnnotations(target, targetAnnotations, annotations) && getDeclaredAnnotations(source) == annotations) {
+                return;
+            }
+        }
+    }
+
+    private AnnotationMap annotationsOf(K member) {
+        Map<Class<? extends Annotation>, Annotation> annotations = getDeclaredAnnotations(member);
+
+        if (annotations == null) {
+            forceMapInitialization(member);
+            annotations = getDeclaredAnnotations(member);
+        }
+
+        // Members don't inherit annotations
+        return new AnnotationMap(annotations, annotations);
+    }
+
+    @Override
+    AnnotationMap edit(K member, AnnotationMap annotationMap, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        AnnotationArrayMap.Builder builder = AnnotationArrayMap.builder(annotationMap.getDeclaredAnnotations());
+        editor.accept(builder);
+
+        Map<Class<? extends Annotation>, Annotation> annotations = builder.build();
+        return new AnnotationMap(annotations, annotations);
+    }
+
+    private Map<Class<? extends Annotation>, Annotation> getDeclaredAnnotations(K member) {
+        if (declaredAnnotationsOffset != -1) {
+            return (Map<Class<? extends Annotation>, Annotation>) UnsafeAccess.unsafe.getObjectVolatile(member, declaredAnnotationsOffset);
+        }
+
+        try {
+            if (declaredAnnotationsGetter != null) {
+                return (Map<Class<? extends Annotation>, Annotation>) declaredAnnotationsGetter.invokeExact((Object) member);
+            }
+
+            return (Map<Class<? extends Annotation>, Annotation>) declaredAnnotationsField.get(member);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    private boolean compareAndSetDeclaredAnnotations(K member, Map<Class<? extends Annotation>, Annotation> expected,
+                                                     Map<Class<? extends Annotation>, Annotation> annotations) {
+        if (declaredAnnotationsOffset != -1) {
+            return UnsafeAccess.unsafe.compareAndSwapObject(member, declaredAnnotationsOffset, expected, annotations);
+        }
+
+        // The JDK lazily initializes the map while holding the member lock
+        synchronized (member) {
+            if (getDeclaredAnnotations(member) != expected) {
+                return false;
+            }
+
+            try {
+                if (declaredAnnotationsSetter != null) {
+                    declaredAnnotationsSetter.invokeExact((Object) member, annotations);
+                } else {
+                    declaredAnnotationsField.set(member, annotations);
+                }
+            } catch (Throwable throwable) {
+                throw Handles.rethrow(throwable);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Forces the initialization of the declaredAnnotations map of this member
+     */
+    private void forceMapInitialization(K member) {
+        member.getAnnotation(Annotation.class);
+    }
+}
@@ -0,0 +1,246 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.AnnotationMap;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Serializes the edits of the same element and merges concurrent ones into a single publication.
+ * Elements are mapped to a fixed number of lock stripes. An editor that acquires the lock of
+ * the stripe publishes its edit, then publishes the edits queued by the editors that couldn't
+ * acquire it, grouping the edits of the same element. Waiting editors park instead of spinning
+ * and only use {@link java.util.concurrent.locks} primitives, so virtual threads never pin their
+ * carrier thread.
+ *
+ * @param <K> the edited element
+ * @author agent
+ */
+final class EditCombiner<K> {
+    private static final int MAX_COMBINED_REQUESTS = 256; // Per lock acquisition, bounds the combiner latency
+    private static final long MIN_PARK_NANOS = 10_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final Publisher<K> publisher;
+    private final Stripe<K>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    EditCombiner(Publisher<K> publisher) {
+        this.publisher = publisher;
+
+        int stripeCount = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() * 4 - 1, 15)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        this.mask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Applies the function to the annotations of the element, as if the edits
+     * of the element were published one after the other. The notifications of the
+     * publications run after the stripe is unlocked, before the edits return.
+     *
+     * @return the annotation maps before and after the function was applied
+     */
+    AnnotationMap[] apply(K element, UnaryOperator<AnnotationMap> function) {
+        Stripe<K> stripe = stripes[System.identityHashCode(element) & mask];
+
+        if (stripe.lock.tryLock()) {
+            List<Runnable> notifications = new ArrayList<>();
+            List<Request<K>> completed = new ArrayList<>();
+            AnnotationMap[] maps;
+
+            try {
+                try {
+                    // Uncontended, publish right away
+                    maps = publisher.publish(element, function, notifications);
+                    combine(stripe, notifications, completed);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            } finally {
+                notify(notifications, completed);
+            }
+
+            return maps;
+        }
+
+        Request<K> request = new Request<>(element, function);
+        stripe.pending.add(request);
+        long parkNanos = MIN_PARK_NANOS;
+
+        while (!request.done) {
+            if (stripe.lock.tryLock()) {
+                List<Runnable> notifications = new ArrayList<>();
+                List<Request<K>> completed = new ArrayList<>();
+
+                try {
+                    try {
+                        combine(stripe, notifications, completed);
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                } finally {
+                    notify(notifications, completed);
+                }
+            } else {
+                // The combiner unparks us, the timeout covers requests queued after its last poll
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+            }
+        }
+
+        return request.getResult();
+    }
+
+    private void combine(Stripe<K> stripe, List<Runnable> notifications, List<Request<K>> completed) {
+        int combined = 0;
+        Request<K> request;
+
+        while (combined < MAX_COMBINED_REQUESTS && (request = stripe.pending.poll()) != null) {
+            List<Request<K>> batch = new ArrayList<>();
+            batch.add(request);
+
+            // Group the pending edits of the same element
+            for (Iterator<Request<K>> iterator = stripe.pending.iterator(); iterator.hasNext(); ) {
+                Request<K> other = iterator.next();
+
+                if (other.element == request.element) {
+                    iterator.remove();
+                    batch.add(other);
+                }
+            }
+
+            publish(request.element, batch, notifications);
+            completed.addAll(batch);
+            combined += batch.size();
+        }
+    }
+
+    private void publish(K element, List<Request<K>> batch, List<Runnable> notifications) {
+        try {
+            publisher.publish(element, annotationMap -> {
+                AnnotationMap current = annotationMap;
+
+                for (Request<K> request : batch) {
+                    current = request.apply(current);
+                }
+
+                return current;
+            }, notifications);
+        } catch (RuntimeException | Error e) {
+            for (Request<K> request : batch) {
+                request.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the notifications outside of the stripe lock, so they can block or edit
+     * other elements, then completes the combined requests. The edits were already
+     * published, so notification exceptions are passed to the uncaught exception
+     * handler of the current thread instead of skipping the remaining notifications.
+     */
+    private static void notify(List<Runnable> notifications, List<? extends Request<?>> completed) {
+        try {
+            for (Runnable notification : notifications) {
+                try {
+                    notification.run();
+                } catch (RuntimeException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        } finally {
+            for (Request<?> request : completed) {
+                request.complete();
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the annotations of an element.
+     */
+    @FunctionalInterface
+    interface Publisher<K> {
+        /**
+         * @param notifications the list the notifications of the publication are added to,
+         *                      which are run once the stripe is unlocked
+         */
+        AnnotationMap[] publish(K element, UnaryOperator<AnnotationMap> function, List<Runnable> notifications);
+    }
+
+    private static final class Stripe<K> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<Request<K>> pending = new ConcurrentLinkedQueue<>();
+    }
+
+    private static final class Request<K> {
+        private final K element;
+        private final UnaryOperator<AnnotationMap> function;
+        private final Thread thread = Thread.currentThread();
+
+        // Written by the combiner before setting done
+        private AnnotationMap previous;
+        private AnnotationMap installed;
+        private Throwable failure;
+        private volatile boolean done;
+
+        private Request(K element, UnaryOperator<AnnotationMap> function) {
+            this.element = element;
+            this.function = function;
+        }
+
+        /**
+         * Applies the function of this request, leaving the map untouched if it throws.
+         * Called again for every publication attempt.
+         */
+        private AnnotationMap apply(AnnotationMap annotationMap) {
+            previous = annotationMap;
+
+            try {
+                installed = function.apply(annotationMap);
+                failure = null;
+
+                return installed;
+            } catch (RuntimeException | Error e) {
+                installed = null;
+                failure = e;
+
+                return annotationMap;
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (failure == null) {
+                failure = throwable;
+            }
+        }
+
+        private void complete() {
+            done = true;
+            LockSupport.unpark(thread);
+        }
+
+        private AnnotationMap[] getResult() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+
+            return new AnnotationMap[] { previous, installed };
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Provides utilities to modify executable (methods and constructors) annotations at runtime.
+ * Supports annotations with {@link ElementType#METHOD} or {@link ElementType#CONSTRUCTOR} targets.
+ *
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+public final class ExecutableAnnotationTransformer extends DeclaredFieldAnnotationTransformer<Executable> {
+    private static final Field declaredAnnotationsField;
+
+    static {
+        try {
+            declaredAnnotationsField = Handles.declaredField(Executable.class, "declaredAnnotations");
+            Handles.trySetAccessible(declaredAnnotationsField);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ExecutableAnnotationTransformer() {
+        super(declaredAnnotationsField);
+    }
+
+    @Override
+    protected List<Executable> roots(Executable member) {
+        return MemberRoots.of(member);
+    }
+
+    /**
+     * Returns the methods declared by the passed class and its superclasses, excluding
+     * {@link Object}, and the constructors of the passed class. Constructors are not
+     * inherited, so the ones of the superclasses are not returned.
+     *
+     * @param clazz the class whose members are returned
+     * @return a stream of the inherited methods and the constructors of the class
+     */
+    @Override
+    public Stream<Executable> members(Class<?> clazz) {
+        return Stream.concat(super.members(clazz), Arrays.stream(clazz.getDeclaredConstructors()));
+    }
+
+    /**
+     * Returns the methods declared by the passed class, the constructors are added by {@link #members(Class)}.
+     */
+    @Override
+    protected Stream<Executable> declaredMembers(Class<?> clazz) {
+        return Arrays.stream(clazz.getDeclaredMethods());
+    }
+}
@@ -2,6 +2,9 @@ package me.hugmanrique.annotated.transformer;
 
 import java.lang.annotation.ElementType;
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Provides utilities to modify field annotations at runtime.
@@ -15,8 +18,8 @@ public final class FieldAnnotationTransformer extends DeclaredFieldAnnotationTra
 
     static {
         try {
-            declaredAnnotationsField = Field.class.getDeclaredField("declaredAnnotations");
-            declaredAnnotationsField.setAccessible(true);
+            declaredAnnotationsField = Handles.declaredField(Field.class, "declaredAnnotations");
+            Handles.trySetAccessible(declaredAnnotationsField);
         } catch (NoSuchFieldException e) {
             throw new IllegalStateException(e);
         }
@@ -25,4 +28,14 @@ public final class FieldAnnotationTransformer extends DeclaredFieldAnnotationTra
     public FieldAnnotationTransformer() {
         super(declaredAnnotationsField);
     }
+
+    @Override
+    protected List<Field> roots(Field member) {
+        return MemberRoots.of(member);
+    }
+
+    @Override
+    protected Stream<Field> declaredMembers(Class<?> clazz) {
+        return Arrays.stream(clazz.getDeclaredFields());
+    }
 }
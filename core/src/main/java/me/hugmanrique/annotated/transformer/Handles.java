@@ -0,0 +1,117 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.Annotated;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+/**
+ * Converts reflection objects into method handles adapted to erased, boxing-free
+ * types so they can be called with {@link MethodHandle#invokeExact}. Handles are
+ * created through the lookups of the {@link Annotated#accessBackend() access backend}.
+ * All methods return {@code null} if the handle cannot be created, in which case
+ * callers fall back to plain reflection.
+ *
+ * @author agent
+ */
+final class Handles {
+    private Handles() {}
+
+    static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            return lookup(method).unreflect(method).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle unreflectConstructor(Constructor<?> constructor, MethodType type) {
+        try {
+            return lookup(constructor).unreflectConstructor(constructor).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle unreflectGetter(Field field, MethodType type) {
+        try {
+            return lookup(field).unreflectGetter(field).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle unreflectSetter(Field field, MethodType type) {
+        try {
+            return lookup(field).unreflectSetter(field).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Member member) throws IllegalAccessException {
+        return Annotated.accessBackend().privateLookupIn(member.getDeclaringClass());
+    }
+
+    /**
+     * Makes the reflection object accessible if the module system allows it,
+     * so it can be used when no handle is available.
+     */
+    static void trySetAccessible(AccessibleObject object) {
+        try {
+            object.setAccessible(true);
+        } catch (RuntimeException e) {
+            // Encapsulated by the module system, only handles can be used
+        }
+    }
+
+    /**
+     * Returns the declared field with the passed name, including the fields
+     * hidden from reflection on Java 12+ (e.g. the fields of {@link Field}).
+     */
+    static Field declaredField(Class<?> clazz, String name) throws NoSuchFieldException {
+        try {
+            return clazz.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            for (Field field : unfilteredDeclaredFields(clazz)) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    private static Field[] unfilteredDeclaredFields(Class<?> clazz) {
+        try {
+            MethodHandle getDeclaredFields0 = Annotated.accessBackend().privateLookupIn(Class.class)
+                .findVirtual(Class.class, "getDeclaredFields0", MethodType.methodType(Field[].class, boolean.class));
+
+            return (Field[]) getDeclaredFields0.invokeExact(clazz, false);
+        } catch (Throwable throwable) {
+            return new Field[0];
+        }
+    }
+
+    /**
+     * Wraps a throwable thrown by a handle invocation, rethrowing unchecked exceptions as-is.
+     */
+    static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+
+        return new IllegalStateException(throwable);
+    }
+}
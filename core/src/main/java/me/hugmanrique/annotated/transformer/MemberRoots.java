@@ -0,0 +1,166 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.Annotated;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the root members the JDK creates the copies returned by reflection from.
+ * A class keeps a root per member in its declared members cache, plus a second
+ * one in its public members cache if the member is public.
+ * <p>
+ * The caches are softly referenced by the class, so the class reflection data
+ * gets pinned before returning its roots. Otherwise the garbage collector could
+ * clear them and later lookups would create new roots without the edited annotations.
+ *
+ * @author agent
+ */
+final class MemberRoots {
+    private static final MethodHandle fieldRootGetter; // (Object) -> Object
+    private static final MethodHandle methodRootGetter; // (Object) -> Object
+    private static final MethodHandle constructorRootGetter; // (Object) -> Object
+    private static final MethodHandle reflectionDataHandle; // (Class) -> Object
+
+    private static final ClassValue<Object> pinnedReflectionData = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> clazz) {
+            try {
+                return reflectionDataHandle.invokeExact(clazz);
+            } catch (Throwable throwable) {
+                throw Handles.rethrow(throwable);
+            }
+        }
+    };
+
+    static {
+        fieldRootGetter = findRootGetter(Field.class);
+        methodRootGetter = findRootGetter(Method.class);
+        constructorRootGetter = findRootGetter(Constructor.class);
+        reflectionDataHandle = findReflectionData();
+    }
+
+    private MemberRoots() {}
+
+    /**
+     * @return the roots of the field, empty if they cannot be accessed
+     */
+    static List<Field> of(Field field) {
+        Class<?> clazz = field.getDeclaringClass();
+
+        if (fieldRootGetter == null || !pin(clazz)) {
+            return Collections.emptyList();
+        }
+
+        List<Field> roots = new ArrayList<>(2);
+
+        try {
+            addRoot(roots, field, clazz.getDeclaredField(field.getName()));
+
+            if (Modifier.isPublic(field.getModifiers())) {
+                addRoot(roots, field, clazz.getField(field.getName()));
+            }
+        } catch (NoSuchFieldException | SecurityException e) {
+            // Filtered by the JDK, the copy is edited on its own
+        }
+
+        return roots;
+    }
+
+    /**
+     * @return the roots of the executable, empty if they cannot be accessed
+     */
+    static List<Executable> of(Executable executable) {
+        Class<?> clazz = executable.getDeclaringClass();
+
+        if (methodRootGetter == null || constructorRootGetter == null || !pin(clazz)) {
+            return Collections.emptyList();
+        }
+
+        List<Executable> roots = new ArrayList<>(2);
+        boolean isPublic = Modifier.isPublic(executable.getModifiers());
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+
+        try {
+            if (executable instanceof Method) {
+                addRoot(roots, executable, clazz.getDeclaredMethod(executable.getName(), parameterTypes));
+
+                if (isPublic) {
+                    addRoot(roots, executable, clazz.getMethod(executable.getName(), parameterTypes));
+                }
+            } else {
+                addRoot(roots, executable, clazz.getDeclaredConstructor(parameterTypes));
+
+                if (isPublic) {
+                    addRoot(roots, executable, clazz.getConstructor(parameterTypes));
+                }
+            }
+        } catch (NoSuchMethodException | SecurityException e) {
+            // Filtered by the JDK, the copy is edited on its own
+        }
+
+        return roots;
+    }
+
+    /**
+     * Adds the root of the copy if it represents the same member, e.g. lookups by name
+     * may return a covariant override of a bridge method.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K extends AccessibleObject & Member> void addRoot(List<K> roots, K member, K copy) {
+        if (!copy.equals(member)) {
+            return;
+        }
+
+        K root = (K) root(copy);
+
+        // Roots are equal to each other, compare their identity
+        if (root != null && roots.stream().noneMatch(known -> known == root)) {
+            roots.add(root);
+        }
+    }
+
+    private static Object root(Object copy) {
+        MethodHandle rootGetter = copy instanceof Field ? fieldRootGetter
+            : copy instanceof Method ? methodRootGetter : constructorRootGetter;
+
+        try {
+            return rootGetter.invokeExact(copy);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+    }
+
+    private static boolean pin(Class<?> clazz) {
+        if (reflectionDataHandle == null) {
+            return false;
+        }
+
+        pinnedReflectionData.get(clazz);
+        return true;
+    }
+
+    private static MethodHandle findRootGetter(Class<?> memberClass) {
+        try {
+            Field rootField = Handles.declaredField(memberClass, "root");
+            return Handles.unreflectGetter(rootField, MethodType.methodType(Object.class, Object.class));
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findReflectionData() {
+        try {
+            Class<?> reflectionDataClass = Class.forName("java.lang.Class$ReflectionData");
+            return Annotated.accessBackend().privateLookupIn(Class.class)
+                .findVirtual(Class.class, "reflectionData", MethodType.methodType(reflectionDataClass))
+                .asType(MethodType.methodType(Object.class, Class.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.stream.Stream;
+
+/**
+ * Provides utilities to modify parameter annotations at runtime.
+ * Supports annotations with a {@link ElementType#PARAMETER} target.
+ * <p>
+ * Edits update the map backing {@link Parameter#getAnnotation(Class)},
+ * {@link Parameter#getDeclaredAnnotation(Class)}, {@link Parameter#isAnnotationPresent(Class)}
+ * and {@link Parameter#getAnnotationsByType(Class)}. {@link Parameter#getAnnotations()} and
+ * {@link Executable#getParameterAnnotations()} parse the class file on every call and keep
+ * returning the original annotations.
+ * <p>
+ * The parameters of an executable are cached per {@link Executable} instance, and every
+ * reflective lookup returns a new executable copy. Edits are only visible through the
+ * parameters returned by the same instance: the parameters of a fresh
+ * {@code getDeclaredMethod(...).getParameters()} call do not see them. For the same reason
+ * the class-wide bulk edits are not supported; pass the parameters of the executables
+ * you keep to the {@link Stream} overloads instead.
+ *
+ * @author agent
+ */
+public final class ParameterAnnotationTransformer extends DeclaredFieldAnnotationTransformer<Parameter> {
+    private static final Field declaredAnnotationsField;
+
+    static {
+        try {
+            declaredAnnotationsField = Handles.declaredField(Parameter.class, "declaredAnnotations");
+            Handles.trySetAccessible(declaredAnnotationsField);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ParameterAnnotationTransformer() {
+        // The JDK initializes and reads the map while holding the parameter lock
+        super(declaredAnnotationsField, true);
+    }
+
+    /**
+     * Not supported, the edits would only be visible through parameters of executable copies nobody references.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Stream<Parameter> members(Class<?> clazz) {
+        throw unsupportedBulkEdit();
+    }
+
+    @Override
+    protected Stream<Parameter> declaredMembers(Class<?> clazz) {
+        throw unsupportedBulkEdit();
+    }
+
+    private static UnsupportedOperationException unsupportedBulkEdit() {
+        return new UnsupportedOperationException("Parameters are cached per executable copy, "
+            + "edit the parameters of the executables you keep with the Stream overloads");
+    }
+}
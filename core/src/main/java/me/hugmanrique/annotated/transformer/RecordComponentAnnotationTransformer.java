@@ -0,0 +1,81 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Provides utilities to modify record component annotations at runtime on Java 16+.
+ * Supports annotations with a {@code RECORD_COMPONENT} target. Elements must be
+ * {@code java.lang.reflect.RecordComponent} instances, which this library cannot
+ * reference directly since it targets Java 8.
+ * <p>
+ * The JDK creates new record components on every {@code Class.getRecordComponents()}
+ * call, so edits are only visible through the edited instance.
+ *
+ * @author agent
+ */
+public final class RecordComponentAnnotationTransformer extends DeclaredFieldAnnotationTransformer<AnnotatedElement> {
+    private static final String RECORD_COMPONENT_CLASS = "java.lang.reflect.RecordComponent";
+
+    private final MethodHandle getRecordComponents; // (Class) -> AnnotatedElement[]
+
+    /**
+     * @throws UnsupportedOperationException if the running JVM doesn't support records
+     */
+    public RecordComponentAnnotationTransformer() {
+        this(recordComponentClass());
+    }
+
+    private RecordComponentAnnotationTransformer(Class<?> recordComponentClass) {
+        super(declaredAnnotationsField(recordComponentClass));
+
+        try {
+            Class<?> arrayClass = Array.newInstance(recordComponentClass, 0).getClass();
+
+            this.getRecordComponents = MethodHandles.lookup()
+                .findVirtual(Class.class, "getRecordComponents", MethodType.methodType(arrayClass))
+                .asType(MethodType.methodType(AnnotatedElement[].class, Class.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected Stream<AnnotatedElement> declaredMembers(Class<?> clazz) {
+        AnnotatedElement[] components;
+
+        try {
+            components = (AnnotatedElement[]) getRecordComponents.invokeExact(clazz);
+        } catch (Throwable throwable) {
+            throw Handles.rethrow(throwable);
+        }
+
+        // Null if the class is not a record
+        return components == null ? Stream.empty() : Arrays.stream(components);
+    }
+
+    private static Class<?> recordComponentClass() {
+        try {
+            return Class.forName(RECORD_COMPONENT_CLASS);
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Records are not supported by this JVM", e);
+        }
+    }
+
+    private static Field declaredAnnotationsField(Class<?> recordComponentClass) {
+        try {
+            Field field = Handles.declaredField(recordComponentClass, "declaredAnnotations");
+            Handles.trySetAccessible(field);
+
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
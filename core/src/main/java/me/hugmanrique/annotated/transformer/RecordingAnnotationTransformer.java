@@ -0,0 +1,52 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.AnnotationArrayMap;
+import me.hugmanrique.annotated.AnnotationMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Records annotation changes instead of applying them to the running JVM.
+ * Every change made to an element is passed to the map the recorder returns for it,
+ * e.g. to be applied later on to the class files of the element.
+ *
+ * @param <K> the annotated element to be transformed
+ * @author agent
+ */
+public final class RecordingAnnotationTransformer<K extends AnnotatedElement> extends AbstractAnnotationTransformer<K> {
+    private final Function<? super K, ? extends Map<Class<? extends Annotation>, Annotation>> recorder;
+
+    /**
+     * @param recorder returns the map the changes made to an element are recorded in
+     */
+    public RecordingAnnotationTransformer(Function<? super K, ? extends Map<Class<? extends Annotation>, Annotation>> recorder) {
+        this.recorder = Objects.requireNonNull(recorder, "recorder");
+    }
+
+    /**
+     * Records the removal of the annotation.
+     *
+     * @return always {@code null}, since the element annotations are left untouched
+     */
+    @Override
+    public <T extends Annotation> T removeAnnotation(K element, Class<T> annotationClass) {
+        apply(element, annotations -> annotations.remove(annotationClass));
+        return null;
+    }
+
+    @Override
+    Map<Class<? extends Annotation>, Annotation> apply(K element, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        editor.accept(recorder.apply(element));
+        return AnnotationArrayMap.empty();
+    }
+
+    @Override
+    AnnotationMap edit(K element, AnnotationMap annotationMap, Consumer<Map<Class<? extends Annotation>, Annotation>> editor) {
+        throw new UnsupportedOperationException("Recorded changes cannot be overridden");
+    }
+}
@@ -0,0 +1,87 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.factory.AnnotationDescriptor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds repeatable annotations into their container annotation, like the compiler does.
+ *
+ * @author agent
+ */
+final class RepeatableAnnotations {
+    private static final String VALUE_ELEMENT = "value";
+
+    private RepeatableAnnotations() {}
+
+    /**
+     * @return the container annotation type of the repeatable annotation type
+     * @throws IllegalArgumentException if the annotation type is not repeatable
+     */
+    static Class<? extends Annotation> containerOf(Class<? extends Annotation> annotationType) {
+        Class<? extends Annotation> containerType = AnnotationDescriptor.of(annotationType).getContainerType();
+
+        if (containerType == null) {
+            throw new IllegalArgumentException(annotationType.getName() + " is not repeatable");
+        }
+
+        return containerType;
+    }
+
+    /**
+     * Adds the annotations to the map, keeping the annotations of the same type already present.
+     * Multiple annotations are stored in a single container annotation, which keeps the
+     * other elements of the previous container.
+     *
+     * @param annotations the declared annotations map to edit
+     * @param annotationType the repeatable annotation type
+     * @param added the annotations to add, in order
+     */
+    static void add(Map<Class<? extends Annotation>, Annotation> annotations, Class<? extends Annotation> annotationType,
+                    List<? extends Annotation> added) {
+        Class<? extends Annotation> containerType = containerOf(annotationType);
+        Annotation direct = annotations.get(annotationType);
+        Annotation container = annotations.get(containerType);
+
+        if (direct == null && container == null && added.size() == 1) {
+            annotations.put(annotationType, added.get(0));
+            return;
+        }
+
+        Map<String, Object> elementsMap = new HashMap<>();
+        Annotation[] present = new Annotation[0];
+
+        if (container != null) {
+            AnnotationDescriptor descriptor = AnnotationDescriptor.of(containerType);
+            List<String> names = descriptor.getElementNames();
+
+            for (int i = 0; i < names.size(); i++) {
+                elementsMap.put(names.get(i), descriptor.getValue(container, i));
+            }
+
+            present = (Annotation[]) elementsMap.get(VALUE_ELEMENT);
+        }
+
+        // The contained annotations first, then the directly present one and the added ones
+        int directCount = direct != null ? 1 : 0;
+        Annotation[] values = (Annotation[]) Array.newInstance(annotationType, present.length + directCount + added.size());
+
+        System.arraycopy(present, 0, values, 0, present.length);
+
+        if (direct != null) {
+            values[present.length] = direct;
+            annotations.remove(annotationType);
+        }
+
+        for (int i = 0; i < added.size(); i++) {
+            values[present.length + directCount + i] = added.get(i);
+        }
+
+        elementsMap.put(VALUE_ELEMENT, values);
+        annotations.put(containerType, AbstractAnnotationTransformer.annotationForMap(containerType, elementsMap));
+    }
+}
@@ -0,0 +1,39 @@
+package me.hugmanrique.annotated.transformer;
+
+import java.util.*;
+
+/**
+ * Keeps track of the known direct subclasses of classes, without
+ * preventing any of them from being unloaded.
+ *
+ * @author agent
+ */
+final class SubclassRegistry {
+    private final ClassValue<Set<Class<?>>> subclasses = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> clazz) {
+            return Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        }
+    };
+
+    /**
+     * Registers the class as a subclass of its superclass, and so on up to {@link Object}.
+     */
+    void register(Class<?> clazz) {
+        Class<?> superclass;
+
+        for (Class<?> current = clazz; (superclass = current.getSuperclass()) != null; current = superclass) {
+            if (!subclasses.get(superclass).add(current)) {
+                break; // The rest of the hierarchy is already registered
+            }
+        }
+    }
+
+    List<Class<?>> getDirectSubclasses(Class<?> clazz) {
+        Set<Class<?>> known = subclasses.get(clazz);
+
+        synchronized (known) {
+            return new ArrayList<>(known);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package me.hugmanrique.annotated.transformer;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+/**
+ * Holds the {@link Unsafe} instance, or {@code null} if it is not available.
+ *
+ * @author agent
+ */
+final class UnsafeAccess {
+    static final Unsafe unsafe;
+
+    static {
+        Unsafe instance;
+
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            instance = (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            instance = null;
+        }
+
+        unsafe = instance;
+    }
+
+    private UnsafeAccess() {}
+}
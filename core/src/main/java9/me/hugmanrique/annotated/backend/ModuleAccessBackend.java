@@ -0,0 +1,50 @@
+package me.hugmanrique.annotated.backend;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Uses {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} on packages
+ * open to this library. Closed packages are opened through the instrumentation if
+ * present, or accessed through the fallback backend otherwise.
+ *
+ * @author agent
+ */
+final class ModuleAccessBackend implements AccessBackend {
+    private static final Module self = ModuleAccessBackend.class.getModule();
+
+    private final Instrumentation instrumentation; // null if not available
+    private final AccessBackend fallback; // null to fail on closed packages
+
+    ModuleAccessBackend(Instrumentation instrumentation, AccessBackend fallback) {
+        this.instrumentation = instrumentation;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public MethodHandles.Lookup privateLookupIn(Class<?> targetClass) throws IllegalAccessException {
+        Module module = targetClass.getModule();
+        String packageName = targetClass.getPackageName();
+
+        if (!module.isOpen(packageName, self) && instrumentation != null && instrumentation.isModifiableModule(module)) {
+            instrumentation.redefineModule(module, Set.of(), Map.of(), Map.of(packageName, Set.of(self)), Set.of(), Map.of());
+        }
+
+        if (module.isOpen(packageName, self)) {
+            return MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+        }
+
+        if (fallback != null) {
+            return fallback.privateLookupIn(targetClass);
+        }
+
+        throw new IllegalAccessException("Package " + packageName + " in " + module + " is not open to " + self);
+    }
+
+    @Override
+    public String toString() {
+        return "ModuleAccessBackend[instrumentation=" + (instrumentation != null) + ", fallback=" + fallback + "]";
+    }
+}
@@ -0,0 +1,98 @@
+package me.hugmanrique.annotated;
+
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class AnnotationArrayMapTest {
+
+    @Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    @Documented
+    @Inherited
+    @interface Sample {}
+
+    private static Map<Class<? extends Annotation>, Annotation> sampleMap() {
+        Map<Class<? extends Annotation>, Annotation> map = new LinkedHashMap<>();
+
+        for (Annotation annotation : Sample.class.getAnnotations()) {
+            map.put(annotation.annotationType(), annotation);
+        }
+
+        return map;
+    }
+
+    @Test
+    public void testCopyOf() {
+        Map<Class<? extends Annotation>, Annotation> expected = sampleMap();
+        AnnotationArrayMap map = AnnotationArrayMap.copyOf(expected);
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertSame(map, AnnotationArrayMap.copyOf(map));
+        assertNull(map.get(Target.class));
+    }
+
+    @Test
+    public void testBuilder() {
+        AnnotationArrayMap map = AnnotationArrayMap.copyOf(sampleMap());
+        Map<Class<? extends Annotation>, Annotation> expected = sampleMap();
+
+        assertSame("Unmodified builders must return the source map", map, AnnotationArrayMap.builder(map).build());
+
+        AnnotationArrayMap.Builder builder = AnnotationArrayMap.builder(map);
+        Annotation documented = builder.remove(Documented.class);
+        builder.put(Documented.class, documented);
+        builder.remove(Retention.class);
+
+        expected.remove(Documented.class);
+        expected.put(Documented.class, documented);
+        expected.remove(Retention.class);
+
+        AnnotationArrayMap edited = builder.build();
+
+        assertEquals(expected, edited);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(edited.keySet()));
+        assertEquals("The source map must not change", sampleMap(), map);
+    }
+
+    @Test
+    public void testLargeMap() {
+        List<Class<? extends Annotation>> types = Arrays.asList(Documented.class, Inherited.class, Retention.class, Target.class,
+            Deprecated.class, FunctionalInterface.class, SafeVarargs.class, Override.class, SuppressWarnings.class,
+            java.lang.annotation.Repeatable.class, java.lang.annotation.Native.class);
+        Annotation value = Sample.class.getAnnotation(Documented.class);
+        AnnotationArrayMap.Builder builder = AnnotationArrayMap.builder(AnnotationArrayMap.empty());
+
+        for (Class<? extends Annotation> type : types) {
+            builder.put(type, value);
+        }
+
+        // Maps with more than 8 entries are looked up through the hash index
+        AnnotationArrayMap map = builder.build();
+
+        assertEquals(types.size(), map.size());
+        assertEquals(types, new ArrayList<>(map.keySet()));
+        assertTrue(types.stream().allMatch(type -> map.get(type) == value));
+        assertNull(map.get(Sample.class));
+        assertFalse(map.containsKey(null));
+
+        AnnotationArrayMap.Builder removal = AnnotationArrayMap.builder(map);
+        removal.remove(Target.class);
+        AnnotationArrayMap edited = removal.build();
+
+        assertFalse(edited.containsKey(Target.class));
+        assertTrue(edited.containsKey(java.lang.annotation.Native.class));
+        assertTrue(map.containsKey(Target.class));
+    }
+}
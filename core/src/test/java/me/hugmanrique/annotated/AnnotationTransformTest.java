@@ -0,0 +1,543 @@
+package me.hugmanrique.annotated;
+
+import me.hugmanrique.annotated.event.AnnotationChange;
+import me.hugmanrique.annotated.event.AnnotationChangeListener;
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+import me.hugmanrique.annotated.transformer.AnnotationIndex;
+import me.hugmanrique.annotated.transformer.AnnotationOverride;
+import me.hugmanrique.annotated.transformer.AnnotationSnapshot;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Hugo Manrique
+ * @since 20/10/2018
+ */
+public class AnnotationTransformTest {
+    private static final String VALUE_ELEMENT = "value";
+    private static final String BEFORE = "123";
+    private static final String AFTER = "abc";
+
+    private static final Class<TestAnnotation> ANNOTATION_CLASS = TestAnnotation.class;
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+    @interface TestAnnotation {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+    @interface MarkerAnnotation {}
+
+    @Repeatable(Routes.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface Route {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface Routes {
+        Route[] value();
+        int priority() default 0;
+    }
+
+    @Inherited
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface InheritedAnnotation {
+        String value();
+    }
+
+    public static class Animal {
+        public String name;
+    }
+
+    public static class Dog extends Animal {
+        public void woof() {}
+    }
+
+    public static class Cat extends Animal {}
+
+    public static class Fish extends Animal {
+        public int fins;
+    }
+
+    public static class Horse extends Animal {
+        public int legs;
+
+        public void gallop() {}
+
+        public void eat(String food) {}
+    }
+
+    public static class Zebra extends Animal {
+        public int stripes;
+    }
+
+    public static class Snake extends Animal {
+        public int length;
+        private boolean venomous;
+
+        public Snake() {}
+
+        public void hiss() {}
+    }
+
+    public static class Router {
+        @Route("/")
+        public void index() {}
+
+        @Routes(value = { @Route("/a"), @Route("/b") }, priority = 3)
+        public void page() {}
+    }
+
+    public static class Plant {}
+
+    public static class Tree extends Plant {
+        public int rings;
+    }
+
+    public static class Vehicle {}
+
+    public static class Car extends Vehicle {}
+
+    public static class SportsCar extends Car {}
+
+    public static class Bird extends Animal {
+        public int wings;
+        public String song;
+
+        public void fly() {}
+    }
+
+    @Test
+    public void testClass() {
+        final Class<?> clazz = Dog.class;
+        TestAnnotation annotation = clazz.getAnnotation(ANNOTATION_CLASS);
+
+        assertNullAnnotation(annotation);
+
+        // Add @TestAnnotation
+        Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+
+        Annotated.clazz().addAnnotation(clazz, ANNOTATION_CLASS, elementsMap);
+        annotation = clazz.getAnnotation(ANNOTATION_CLASS);
+
+        assertNonNullAnnotation(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        // Remove @TestAnnotation
+        annotation = Annotated.clazz().removeAnnotation(clazz, ANNOTATION_CLASS);
+        assertNotNull("Removed annotation must be non-null", annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        annotation = clazz.getAnnotation(ANNOTATION_CLASS);
+        assertNullAnnotation(annotation);
+    }
+
+    @Test
+    public void testClassEdit() {
+        final Class<?> clazz = Cat.class;
+        Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+
+        // Add @TestAnnotation and @MarkerAnnotation at once
+        Annotated.clazz().edit(clazz)
+            .add(ANNOTATION_CLASS, elementsMap)
+            .add(MarkerAnnotation.class, Collections.emptyMap())
+            .commit();
+
+        assertAnnotationValueEquals(clazz.getAnnotation(ANNOTATION_CLASS), BEFORE);
+        assertNotNull("The MarkerAnnotation must not be null", clazz.getAnnotation(MarkerAnnotation.class));
+
+        // Replace @TestAnnotation and remove @MarkerAnnotation
+        Annotated.clazz().edit(clazz)
+            .remove(ANNOTATION_CLASS)
+            .add(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, AFTER))
+            .remove(MarkerAnnotation.class)
+            .commit();
+
+        assertAnnotationValueEquals(clazz.getAnnotation(ANNOTATION_CLASS), AFTER);
+        assertNull("The MarkerAnnotation must be null", clazz.getAnnotation(MarkerAnnotation.class));
+
+        Annotated.clazz().removeAnnotation(clazz, ANNOTATION_CLASS);
+        assertNullAnnotation(clazz.getAnnotation(ANNOTATION_CLASS));
+    }
+
+    @Test
+    public void testInheritedClass() {
+        Map<String, Object> beforeMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+        Map<String, Object> afterMap = Collections.singletonMap(VALUE_ELEMENT, AFTER);
+
+        // Cache the annotations of the subclass before editing its superclasses
+        assertNull(SportsCar.class.getAnnotation(InheritedAnnotation.class));
+        Annotated.clazz().track(SportsCar.class);
+
+        Annotated.clazz().addAnnotation(Vehicle.class, InheritedAnnotation.class, beforeMap);
+        assertEquals(BEFORE, Car.class.getAnnotation(InheritedAnnotation.class).value());
+        assertEquals(BEFORE, SportsCar.class.getAnnotation(InheritedAnnotation.class).value());
+        assertNull(SportsCar.class.getDeclaredAnnotation(InheritedAnnotation.class));
+
+        // A declared annotation shadows the inherited one
+        Annotated.clazz().addAnnotation(Car.class, InheritedAnnotation.class, afterMap);
+        assertEquals(AFTER, SportsCar.class.getAnnotation(InheritedAnnotation.class).value());
+
+        // Removing the declared annotation reveals the inherited one again
+        assertEquals(AFTER, Annotated.clazz().removeAnnotation(Car.class, InheritedAnnotation.class).value());
+        assertEquals(BEFORE, Car.class.getAnnotation(InheritedAnnotation.class).value());
+        assertEquals(BEFORE, SportsCar.class.getAnnotation(InheritedAnnotation.class).value());
+
+        // Inherited annotations cannot be removed from the subclass
+        assertNull(Annotated.clazz().removeAnnotation(Car.class, InheritedAnnotation.class));
+
+        Annotated.clazz().removeAnnotation(Vehicle.class, InheritedAnnotation.class);
+        assertNull(Car.class.getAnnotation(InheritedAnnotation.class));
+        assertNull(SportsCar.class.getAnnotation(InheritedAnnotation.class));
+    }
+
+    @Test
+    public void testMethod() throws NoSuchMethodException {
+        final Method method = Dog.class.getMethod("woof");
+        TestAnnotation annotation = method.getAnnotation(ANNOTATION_CLASS);
+
+        assertNullAnnotation(annotation);
+
+        // Add @TestAnnotation
+        Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+
+        Annotated.method().addAnnotation(method, ANNOTATION_CLASS, elementsMap);
+        annotation = method.getAnnotation(ANNOTATION_CLASS);
+
+        assertNonNullAnnotation(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        // Remove @TestAnnotation
+        annotation = Annotated.method().removeAnnotation(method, ANNOTATION_CLASS);
+        assertNonNullAnnotation(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        annotation = method.getAnnotation(ANNOTATION_CLASS);
+        assertNullAnnotation(annotation);
+    }
+
+    @Test
+    public void testField() throws NoSuchFieldException {
+        final Field field = Dog.class.getField("name");
+        TestAnnotation annotation = field.getAnnotation(ANNOTATION_CLASS);
+
+        assertNullAnnotation(annotation);
+
+        // Add @TestAnnotation
+        Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+
+        Annotated.field().addAnnotation(field, TestAnnotation.class, elementsMap);
+        annotation = field.getAnnotation(TestAnnotation.class);
+
+        assertNotNull(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        // Remove @TestAnnotation
+        annotation = Annotated.field().removeAnnotation(field, ANNOTATION_CLASS);
+        assertNonNullAnnotation(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+
+        annotation = field.getAnnotation(ANNOTATION_CLASS);
+        assertNullAnnotation(annotation);
+    }
+
+    @Test
+    public void testMemberCopies() throws ReflectiveOperationException {
+        Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+
+        // Reflection returns a new copy on every lookup
+        Annotated.field().addAnnotation(Snake.class.getDeclaredField("length"), ANNOTATION_CLASS, elementsMap);
+        Annotated.field().addAnnotation(Snake.class.getDeclaredField("venomous"), ANNOTATION_CLASS, elementsMap);
+        Annotated.method().addAnnotation(Snake.class.getMethod("hiss"), ANNOTATION_CLASS, elementsMap);
+        Annotated.constructor().addAnnotation(Snake.class.getConstructor(), ANNOTATION_CLASS, elementsMap);
+
+        assertAnnotationValueEquals(Snake.class.getField("length").getAnnotation(ANNOTATION_CLASS), BEFORE);
+        assertAnnotationValueEquals(Snake.class.getDeclaredField("length").getAnnotation(ANNOTATION_CLASS), BEFORE);
+        assertAnnotationValueEquals(Snake.class.getDeclaredField("venomous").getAnnotation(ANNOTATION_CLASS), BEFORE);
+        assertAnnotationValueEquals(Snake.class.getDeclaredMethod("hiss").getAnnotation(ANNOTATION_CLASS), BEFORE);
+        assertTrue(Arrays.stream(Snake.class.getMethods()).anyMatch(method -> method.isAnnotationPresent(ANNOTATION_CLASS)));
+        assertAnnotationValueEquals(Snake.class.getDeclaredConstructor().getAnnotation(ANNOTATION_CLASS), BEFORE);
+
+        assertNotNull(Annotated.field().removeAnnotation(Snake.class.getField("length"), ANNOTATION_CLASS));
+        assertNotNull(Annotated.method().removeAnnotation(Snake.class.getDeclaredMethod("hiss"), ANNOTATION_CLASS));
+        assertNullAnnotation(Snake.class.getDeclaredField("length").getAnnotation(ANNOTATION_CLASS));
+        assertNullAnnotation(Snake.class.getMethod("hiss").getAnnotation(ANNOTATION_CLASS));
+    }
+
+    @Test
+    public void testParameter() throws NoSuchMethodException {
+        final Method method = Horse.class.getMethod("eat", String.class);
+        Parameter parameter = method.getParameters()[0];
+
+        Annotated.parameter().addAnnotation(parameter, ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+
+        // The executable caches its parameters
+        TestAnnotation annotation = method.getParameters()[0].getAnnotation(ANNOTATION_CLASS);
+        assertNonNullAnnotation(annotation);
+        assertAnnotationValueEquals(annotation, BEFORE);
+        assertTrue(parameter.isAnnotationPresent(ANNOTATION_CLASS));
+
+        assertSame(annotation, Annotated.parameter().removeAnnotation(parameter, ANNOTATION_CLASS));
+        assertNullAnnotation(parameter.getAnnotation(ANNOTATION_CLASS));
+
+        // Fresh executable copies have their own parameters, so class-wide edits are rejected
+        try {
+            Annotated.parameter().addAnnotation(Horse.class, member -> true, MarkerAnnotation.class, Collections.emptyMap());
+            fail("Class-wide parameter edits must be rejected");
+        } catch (UnsupportedOperationException expected) {}
+    }
+
+    @Test
+    public void testBulkMembers() {
+        List<Field> fields = Annotated.field().members(Bird.class).collect(Collectors.toList());
+        assertEquals(3, fields.size()); // wings, song and Animal.name
+
+        TestAnnotation annotation = AnnotationFactory.proxy().createAnnotation(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+        long edited = Annotated.field().addAnnotation(fields.parallelStream().filter(field -> field.getType() == String.class), annotation);
+
+        assertEquals(2, edited);
+
+        for (Field field : fields) {
+            if (field.getType() == String.class) {
+                assertSame(annotation, field.getAnnotation(ANNOTATION_CLASS));
+            } else {
+                assertNullAnnotation(field.getAnnotation(ANNOTATION_CLASS));
+            }
+        }
+
+        assertEquals(2, Annotated.field().removeAnnotation(fields.stream(), ANNOTATION_CLASS));
+        assertTrue(fields.stream().allMatch(field -> field.getAnnotation(ANNOTATION_CLASS) == null));
+
+        // Inherited methods below Object and the constructors of the class only
+        List<Executable> executables = Annotated.method().members(Bird.class).collect(Collectors.toList());
+        assertTrue(executables.stream().anyMatch(method -> method.getName().equals("fly")));
+        assertTrue(executables.stream().noneMatch(method -> method.getDeclaringClass() == Object.class));
+        assertEquals(Collections.singletonList(Bird.class), executables.stream()
+            .filter(executable -> executable instanceof Constructor)
+            .map(Executable::getDeclaringClass)
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testOverride() {
+        TestAnnotation before = AnnotationFactory.proxy().createAnnotation(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+        Annotated.clazz().addAnnotation(Fish.class, before);
+        Annotation[] declared = Fish.class.getDeclaredAnnotations();
+
+        try (AnnotationOverride<Class<?>> ignored = Annotated.clazz().edit(Fish.class)
+                .add(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, AFTER))
+                .add(MarkerAnnotation.class, Collections.emptyMap())
+                .override()) {
+            assertAnnotationValueEquals(Fish.class.getAnnotation(ANNOTATION_CLASS), AFTER);
+            assertNotNull(Fish.class.getAnnotation(MarkerAnnotation.class));
+        }
+
+        assertSame(before, Fish.class.getAnnotation(ANNOTATION_CLASS));
+        assertNull(Fish.class.getAnnotation(MarkerAnnotation.class));
+        assertArrayEquals(declared, Fish.class.getDeclaredAnnotations());
+
+        // Changes made to other annotations during the override are kept
+        AnnotationOverride<Class<?>> override = Annotated.clazz().override(Fish.class,
+            AnnotationFactory.proxy().createAnnotation(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, AFTER)));
+        Annotated.clazz().addAnnotation(Fish.class, MarkerAnnotation.class, Collections.emptyMap());
+        override.close();
+        override.close();
+
+        assertSame(before, Fish.class.getAnnotation(ANNOTATION_CLASS));
+        assertNotNull(Annotated.clazz().removeAnnotation(Fish.class, MarkerAnnotation.class));
+        Annotated.clazz().removeAnnotation(Fish.class, ANNOTATION_CLASS);
+    }
+
+    @Test
+    public void testSnapshot() throws NoSuchFieldException {
+        final Field field = Fish.class.getField("fins");
+        AnnotationSnapshot<Field> snapshot = Annotated.field().snapshot(field);
+
+        Annotated.field().addAnnotation(field, ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+        Annotated.field().addAnnotation(field, MarkerAnnotation.class, Collections.emptyMap());
+        assertEquals(2, field.getDeclaredAnnotations().length);
+
+        Annotated.field().restore(snapshot);
+        assertEquals(0, field.getDeclaredAnnotations().length);
+        assertTrue(snapshot.getDeclaredAnnotations().isEmpty());
+    }
+
+    @Test
+    public void testIndex() throws ReflectiveOperationException {
+        final Field field = Horse.class.getField("legs");
+        final Method method = Horse.class.getMethod("gallop");
+        AnnotationIndex index = new AnnotationIndex();
+        Annotated.setAnnotationIndex(index);
+
+        try {
+            Map<String, Object> elementsMap = Collections.singletonMap(VALUE_ELEMENT, BEFORE);
+            Annotated.clazz().addAnnotation(Horse.class, ANNOTATION_CLASS, elementsMap);
+            Annotated.field().addAnnotation(field, ANNOTATION_CLASS, elementsMap);
+            Annotated.method().edit(method)
+                .add(ANNOTATION_CLASS, elementsMap)
+                .add(MarkerAnnotation.class, Collections.emptyMap())
+                .commit();
+
+            assertEquals(3, index.getElements(ANNOTATION_CLASS).size());
+            assertEquals(Collections.singleton(method), index.getElements(MarkerAnnotation.class));
+            assertEquals(Collections.singleton(field), index.getElements(ANNOTATION_CLASS, Field.class));
+
+            Annotated.clazz().removeAnnotation(Horse.class, ANNOTATION_CLASS);
+            Annotated.method().removeAnnotation(method, ANNOTATION_CLASS);
+            assertEquals(Collections.singleton(field), index.getElements(ANNOTATION_CLASS));
+        } finally {
+            Annotated.setAnnotationIndex(null);
+        }
+    }
+
+    @Test
+    public void testIndexKeepsDiscardedMembers() throws ReflectiveOperationException {
+        AnnotationIndex index = new AnnotationIndex();
+        Annotated.setAnnotationIndex(index);
+
+        try {
+            // Edit through a member copy that isn't referenced afterwards
+            Annotated.field().addAnnotation(Zebra.class.getField("stripes"), MarkerAnnotation.class, Collections.emptyMap());
+            System.gc();
+
+            assertEquals(Collections.singleton(Zebra.class.getField("stripes")), index.getElements(MarkerAnnotation.class));
+        } finally {
+            Annotated.setAnnotationIndex(null);
+        }
+    }
+
+    @Test
+    public void testRepeatable() throws NoSuchMethodException {
+        final Method index = Router.class.getMethod("index");
+        final Method page = Router.class.getMethod("page");
+
+        // Folds the directly present annotation and the added ones into a container
+        Annotated.method().edit(index)
+            .repeat(Route.class, Collections.singletonMap(VALUE_ELEMENT, "/home"))
+            .repeat(Route.class, Collections.singletonMap(VALUE_ELEMENT, "/index"))
+            .commit();
+
+        assertNull(index.getAnnotation(Route.class));
+        assertEquals(Arrays.asList("/", "/home", "/index"), routes(index));
+
+        // Keeps the other elements of the existing container
+        Annotated.method().edit(page)
+            .repeat(Route.class, Collections.singletonMap(VALUE_ELEMENT, "/c"))
+            .commit();
+
+        assertEquals(Arrays.asList("/a", "/b", "/c"), routes(page));
+        assertEquals(3, page.getAnnotation(Routes.class).priority());
+
+        try {
+            Annotated.method().edit(page).repeat(ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+            fail("Non repeatable annotations must be rejected");
+        } catch (IllegalArgumentException expected) {}
+    }
+
+    private static List<String> routes(Method method) {
+        return Arrays.stream(method.getAnnotationsByType(Route.class)).map(Route::value).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAnnotations() throws NoSuchFieldException {
+        final Field field = Tree.class.getField("rings");
+        Annotated.field().addAnnotation(field, ANNOTATION_CLASS, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+
+        TestAnnotation annotation = field.getAnnotation(ANNOTATION_CLASS);
+        assertAnnotationValueEquals(annotation, BEFORE);
+        assertEquals(Collections.singletonMap(ANNOTATION_CLASS, annotation), Annotated.annotations(field));
+        assertTrue(Annotated.annotations(Tree.class).isEmpty());
+
+        try {
+            Annotated.annotations(field).clear();
+            fail("Annotation maps must be immutable");
+        } catch (UnsupportedOperationException expected) {}
+
+        Annotated.field().removeAnnotation(field, ANNOTATION_CLASS);
+        assertNull(field.getAnnotation(ANNOTATION_CLASS));
+        assertTrue(Annotated.annotations(field).isEmpty());
+    }
+
+    @Test
+    public void testChangeListener() {
+        List<AnnotationChange> changes = new ArrayList<>();
+        List<Runnable> deliveries = new ArrayList<>();
+        List<List<AnnotationChange>> batches = new ArrayList<>();
+        AnnotationChangeListener listener = changes::addAll;
+        AnnotationChangeListener asyncListener = ((AnnotationChangeListener) batches::add).async(deliveries::add);
+
+        // Cache the annotations of the subclass so the inherited changes are propagated
+        assertNull(Tree.class.getAnnotation(InheritedAnnotation.class));
+        Annotated.clazz().track(Tree.class);
+        Annotated.addChangeListener(listener);
+        Annotated.addChangeListener(asyncListener);
+
+        try {
+            Annotated.clazz().addAnnotation(Plant.class, InheritedAnnotation.class, Collections.singletonMap(VALUE_ELEMENT, BEFORE));
+            InheritedAnnotation added = Plant.class.getAnnotation(InheritedAnnotation.class);
+
+            // The subclass inherits the added annotation
+            assertEquals(2, changes.size());
+            assertEquals(Plant.class, changes.get(0).getElement());
+            assertEquals(AnnotationChange.Type.ADDED, changes.get(0).getType());
+            assertSame(added, changes.get(0).getCurrent());
+            assertEquals(Tree.class, changes.get(1).getElement());
+
+            changes.clear();
+            Annotated.clazz().removeAnnotation(Plant.class, InheritedAnnotation.class);
+
+            assertEquals(2, changes.size());
+            assertEquals(AnnotationChange.Type.REMOVED, changes.get(0).getType());
+            assertSame(added, changes.get(0).getPrevious());
+            assertNull(changes.get(0).getCurrent());
+
+            // The asynchronous deliveries are batched
+            assertEquals(1, deliveries.size());
+            deliveries.remove(0).run();
+            assertEquals(1, batches.size());
+            assertEquals(4, batches.get(0).size());
+            assertTrue(deliveries.isEmpty());
+        } finally {
+            Annotated.removeChangeListener(listener);
+            Annotated.removeChangeListener(asyncListener);
+        }
+    }
+
+    private static void assertNullAnnotation(TestAnnotation annotation) {
+        assertNull("The TestAnnotation must be null", annotation);
+    }
+
+    private static void assertNonNullAnnotation(TestAnnotation annotation) {
+        assertNotNull("The TestAnnotation must not be null", annotation);
+    }
+
+    private static void assertAnnotationValueEquals(TestAnnotation annotation, String value) {
+        assertEquals("Annotation value must be " + value, value, annotation.value());
+    }
+}
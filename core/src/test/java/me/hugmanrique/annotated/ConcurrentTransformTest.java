@@ -0,0 +1,218 @@
+package me.hugmanrique.annotated;
+
+import me.hugmanrique.annotated.transformer.AnnotationTransformer;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Edits the same elements from many threads while others read them, checking
+ * that no update is lost and that readers never observe a partially applied edit.
+ *
+ * @author agent
+ */
+public class ConcurrentTransformTest {
+    private static final int ITERATIONS = 2_000;
+    private static final int READERS = 2;
+    private static final String VALUE_ELEMENT = "value";
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface First {
+        int value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface Second {
+        int value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface Third {
+        int value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface Left {
+        int value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface Right {
+        int value();
+    }
+
+    private static final List<Class<? extends Annotation>> WRITTEN_TYPES = Arrays.asList(First.class, Second.class, Third.class);
+
+    public static class Shared {
+        public int counter;
+    }
+
+    @Test
+    public void testClass() throws Exception {
+        hammer(Annotated.clazz(), Shared.class, () -> Shared.class);
+    }
+
+    @Test
+    public void testField() throws Exception {
+        Field field = Shared.class.getField("counter");
+
+        // Readers also look up fresh copies, which share the annotations of the root field
+        hammer(Annotated.field(), field, () -> {
+            try {
+                return Shared.class.getField("counter");
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Starts a writer per written annotation type, a writer that edits the {@link Left} and {@link Right}
+     * annotations at once, and the readers. Each writer alternates between adding its annotation
+     * with an increasing value and removing it, ending with an addition.
+     */
+    private static <K extends AnnotatedElement> void hammer(AnnotationTransformer<K> transformer, K element,
+                                                            Supplier<? extends AnnotatedElement> readElement) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITTEN_TYPES.size() + 1 + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        try {
+            for (Class<? extends Annotation> annotationType : WRITTEN_TYPES) {
+                writers.add(executor.submit(task(start, () -> {
+                    for (int i = 1; i <= ITERATIONS; i++) {
+                        if (i % 2 == 0) {
+                            transformer.addAnnotation(element, annotationType, Collections.singletonMap(VALUE_ELEMENT, i));
+                        } else {
+                            transformer.removeAnnotation(element, annotationType);
+                        }
+                    }
+                })));
+            }
+
+            writers.add(executor.submit(task(start, () -> {
+                for (int i = 1; i <= ITERATIONS; i++) {
+                    transformer.edit(element)
+                        .add(Left.class, Collections.singletonMap(VALUE_ELEMENT, i))
+                        .add(Right.class, Collections.singletonMap(VALUE_ELEMENT, i))
+                        .commit();
+                }
+            })));
+
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(task(start, () -> {
+                    // The edited member gets the new annotations after its root, track them apart
+                    int[] lastCopyValues = new int[WRITTEN_TYPES.size()];
+                    int[] lastValues = new int[WRITTEN_TYPES.size()];
+
+                    while (writing.get()) {
+                        read(readElement.get(), lastCopyValues);
+                        read(element, lastValues);
+                    }
+                })));
+            }
+
+            start.countDown();
+
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdown();
+        }
+
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+
+        // No lost updates
+        for (Class<? extends Annotation> annotationType : WRITTEN_TYPES) {
+            assertEquals(ITERATIONS, valueOf(readElement.get().getAnnotation(annotationType)));
+        }
+
+        assertEquals(ITERATIONS, readElement.get().getAnnotation(Left.class).value());
+        assertEquals(ITERATIONS, readElement.get().getAnnotation(Right.class).value());
+
+        for (Class<? extends Annotation> annotationType : WRITTEN_TYPES) {
+            transformer.removeAnnotation(element, annotationType);
+        }
+
+        transformer.edit(element).remove(Left.class).remove(Right.class).commit();
+        assertEquals(0, readElement.get().getDeclaredAnnotations().length);
+    }
+
+    private static void read(AnnotatedElement element, int[] lastValues) {
+        Annotation[] annotations = element.getDeclaredAnnotations();
+        int left = -1;
+        int right = -1;
+
+        for (Annotation annotation : annotations) {
+            assertNotNull("Published annotations must not be null", annotation);
+
+            if (annotation instanceof Left) {
+                left = ((Left) annotation).value();
+            } else if (annotation instanceof Right) {
+                right = ((Right) annotation).value();
+            }
+        }
+
+        // Both annotations are published by the same edit
+        assertEquals("Torn read of a batch edit", left, right);
+
+        for (int i = 0; i < WRITTEN_TYPES.size(); i++) {
+            Annotation annotation = element.getAnnotation(WRITTEN_TYPES.get(i));
+
+            if (annotation != null) {
+                int value = valueOf(annotation);
+                assertTrue("Annotation values must never go back in time", value >= lastValues[i]);
+                lastValues[i] = value;
+            }
+        }
+    }
+
+    private static int valueOf(Annotation annotation) {
+        if (annotation instanceof First) {
+            return ((First) annotation).value();
+        } else if (annotation instanceof Second) {
+            return ((Second) annotation).value();
+        }
+
+        return ((Third) annotation).value();
+    }
+
+    private static Callable<Void> task(CountDownLatch start, Runnable body) {
+        return () -> {
+            start.await();
+            body.run();
+            return null;
+        };
+    }
+}
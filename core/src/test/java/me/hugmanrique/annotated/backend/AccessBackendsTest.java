@@ -0,0 +1,47 @@
+package me.hugmanrique.annotated.backend;
+
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandle;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class AccessBackendsTest {
+    private static final class Secret {
+        private final int value = 42;
+    }
+
+    @Test
+    public void testDetect() throws Throwable {
+        assertJdkInternalsAccessible(AccessBackends.detect());
+    }
+
+    @Test
+    public void testTrusted() throws Throwable {
+        assertJdkInternalsAccessible(AccessBackends.trusted());
+    }
+
+    @Test
+    public void testPrivateLookup() throws Throwable {
+        AccessBackend backend;
+
+        try {
+            backend = AccessBackends.privateLookup();
+        } catch (UnsupportedOperationException e) {
+            assertEquals("1.8", System.getProperty("java.specification.version"));
+            return;
+        }
+
+        // The unnamed module is open to every module
+        MethodHandle getter = backend.privateLookupIn(Secret.class).findGetter(Secret.class, "value", int.class);
+        assertEquals(42, (int) getter.invokeExact(new Secret()));
+    }
+
+    private static void assertJdkInternalsAccessible(AccessBackend backend) throws Throwable {
+        MethodHandle getter = backend.privateLookupIn(Class.class).findGetter(Class.class, "classRedefinedCount", int.class);
+        assertEquals(0, (int) getter.invokeExact((Class<?>) AccessBackendsTest.class));
+    }
+}
@@ -0,0 +1,149 @@
+package me.hugmanrique.annotated.bytecode;
+
+import me.hugmanrique.annotated.Annotated;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class ClassFileRewriterTest {
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Values {
+        int number();
+        long big() default Long.MAX_VALUE;
+        double[] decimals() default {};
+        char letter() default 'a';
+        String text();
+        Class<?> type() default void.class;
+        ElementType element() default ElementType.TYPE;
+        Target target() default @Target({});
+    }
+
+    @Marker
+    public static class Subject {
+        @Marker
+        public int count;
+        public String name;
+
+        public Subject() {}
+
+        public void run() {}
+
+        public void run(int times) {}
+    }
+
+    @Test
+    public void testRewrite() throws ReflectiveOperationException, IOException {
+        Map<String, Object> elementsMap = new HashMap<>();
+        elementsMap.put("number", 42);
+        elementsMap.put("text", "value");
+        elementsMap.put("decimals", new double[] { 1.5, -2 });
+        elementsMap.put("type", String[].class);
+        elementsMap.put("element", ElementType.FIELD);
+        elementsMap.put("target", Annotated.annotationFactory().createAnnotation(Target.class,
+            Collections.singletonMap("value", new ElementType[] { ElementType.METHOD })));
+
+        Values values = Annotated.annotationFactory().createAnnotation(Values.class, elementsMap);
+        AnnotationRules rules = new AnnotationRules();
+
+        rules.forClass(Subject.class.getName())
+            .removeAnnotation(Marker.class)
+            .addAnnotation(values);
+        rules.clazz().removeAnnotation(Subject.class, Values.class); // Recorded after the addition
+        rules.forClass(Subject.class.getName()).addAnnotation(values);
+        rules.field().removeAnnotation(Subject.class.getField("count"), Marker.class);
+        rules.field().addAnnotation(Subject.class.getField("name"), Marker.class, Collections.emptyMap());
+        rules.forClass(Subject.class.getName()).method("run", "(I)V").addAnnotation(values);
+        rules.executable().addAnnotation(Subject.class.getConstructor(), Marker.class, Collections.emptyMap());
+
+        byte[] classFile = new ClassFileRewriter(rules).rewrite(readClassFile(Subject.class));
+        assertNotNull(classFile);
+
+        Class<?> rewritten = new RewrittenClassLoader(Subject.class.getName(), classFile).loadClass(Subject.class.getName());
+        assertNotSame(Subject.class, rewritten);
+
+        assertNull(rewritten.getAnnotation(Marker.class));
+        assertEquals(values, rewritten.getAnnotation(Values.class));
+        assertEquals(values.hashCode(), rewritten.getAnnotation(Values.class).hashCode());
+
+        assertEquals(0, rewritten.getField("count").getAnnotations().length);
+        assertNotNull(rewritten.getField("name").getAnnotation(Marker.class));
+        assertEquals(values, rewritten.getMethod("run", int.class).getAnnotation(Values.class));
+        assertEquals(0, rewritten.getMethod("run").getAnnotations().length);
+        assertNotNull(rewritten.getConstructor().getAnnotation(Marker.class));
+    }
+
+    @Test
+    public void testUnchanged() throws IOException {
+        AnnotationRules rules = new AnnotationRules();
+        ClassFileRewriter rewriter = new ClassFileRewriter(rules);
+        byte[] classFile = readClassFile(Subject.class);
+
+        assertEquals(Subject.class.getName(), ClassFileRewriter.getClassName(classFile));
+        assertNull(rewriter.rewrite(classFile));
+
+        // Removing a missing annotation doesn't change the class file
+        rules.forClass(Subject.class.getName()).removeAnnotation(Values.class);
+        assertNull(rewriter.rewrite(classFile));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceRetention() {
+        SuppressWarnings annotation = Annotated.annotationFactory().createAnnotation(SuppressWarnings.class,
+            Collections.singletonMap("value", new String[0]));
+
+        new AnnotationRules().forClass(Subject.class.getName()).addAnnotation(annotation);
+    }
+
+    private static byte[] readClassFile(Class<?> clazz) throws IOException {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+
+            return out.toByteArray();
+        }
+    }
+
+    private static final class RewrittenClassLoader extends ClassLoader {
+        private final String className;
+        private final byte[] classFile;
+
+        private RewrittenClassLoader(String className, byte[] classFile) {
+            super(ClassFileRewriterTest.class.getClassLoader());
+            this.className = className;
+            this.classFile = classFile;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(className)) {
+                return defineClass(name, classFile, 0, classFile.length);
+            }
+
+            return super.loadClass(name, resolve);
+        }
+    }
+}
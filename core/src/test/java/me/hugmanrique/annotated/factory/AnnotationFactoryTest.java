@@ -0,0 +1,143 @@
+package me.hugmanrique.annotated.factory;
+
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class AnnotationFactoryTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface Column {
+        String name();
+        int length() default 255;
+        boolean nullable() default true;
+        double scale() default 1.5;
+        long[] ranges() default { 1, 2 };
+        ElementType type() default ElementType.FIELD;
+        Class<?> converter() default Object.class;
+        String[] aliases() default {};
+    }
+
+    @Column(name = "id", nullable = false)
+    private static class Entity {}
+
+    private static Map<String, Object> idColumn() {
+        Map<String, Object> elementsMap = new HashMap<>();
+        elementsMap.put("name", "id");
+        elementsMap.put("nullable", false);
+
+        return elementsMap;
+    }
+
+    @Test
+    public void testGeneratedElements() {
+        Column column = AnnotationFactory.generated().createAnnotation(Column.class, idColumn());
+
+        assertFalse("Generated annotations must not be proxies", Proxy.isProxyClass(column.getClass()));
+        assertEquals(Column.class, column.annotationType());
+        assertEquals("id", column.name());
+        assertEquals(255, column.length());
+        assertFalse(column.nullable());
+        assertEquals(1.5, column.scale(), 0);
+        assertArrayEquals(new long[] { 1, 2 }, column.ranges());
+        assertEquals(ElementType.FIELD, column.type());
+        assertEquals(Object.class, column.converter());
+        assertEquals(0, column.aliases().length);
+
+        // Array elements must be copied on every access
+        column.ranges()[0] = 42;
+        assertEquals(1, column.ranges()[0]);
+    }
+
+    @Test
+    public void testGeneratedContract() {
+        Column declared = Entity.class.getAnnotation(Column.class);
+        Column proxy = AnnotationFactory.proxy().createAnnotation(Column.class, idColumn());
+        Column generated = AnnotationFactory.generated().createAnnotation(Column.class, idColumn());
+
+        assertEquals(declared, generated);
+        assertEquals(declared, proxy);
+        assertEquals(proxy, generated);
+        assertEquals(generated, proxy);
+        assertEquals(generated, declared);
+        assertEquals(declared.hashCode(), generated.hashCode());
+
+        Map<String, Object> elementsMap = idColumn();
+        elementsMap.put("length", 32);
+        Column other = AnnotationFactory.generated().createAnnotation(Column.class, elementsMap);
+
+        assertNotEquals(generated, other);
+        assertEquals("@" + Column.class.getName() + "(aliases={}, converter=java.lang.Object.class, length=255, "
+            + "name=\"id\", nullable=false, ranges=[1, 2], scale=1.5, type=FIELD)", generated.toString());
+    }
+
+    @Test(expected = IncompleteAnnotationException.class)
+    public void testMissingElement() {
+        AnnotationFactory.proxy().createAnnotation(Column.class, Collections.emptyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownElement() {
+        Map<String, Object> elementsMap = idColumn();
+        elementsMap.put("precision", 3);
+
+        AnnotationFactory.generated().createAnnotation(Column.class, elementsMap);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongElementType() {
+        Map<String, Object> elementsMap = idColumn();
+        elementsMap.put("length", 32L);
+
+        AnnotationFactory.proxy().createAnnotation(Column.class, elementsMap);
+    }
+
+    @Test
+    public void testDescriptor() {
+        AnnotationDescriptor descriptor = AnnotationDescriptor.of(Column.class);
+
+        assertSame(descriptor, AnnotationDescriptor.of(Column.class));
+        assertEquals(Arrays.asList("aliases", "converter", "length", "name", "nullable", "ranges", "scale", "type"), descriptor.getElementNames());
+        assertEquals(int.class, descriptor.getElementType("length"));
+        assertEquals(255, descriptor.getDefaultValue("length"));
+        assertNull(descriptor.getDefaultValue("name"));
+        assertEquals(8, descriptor.complete(idColumn()).size());
+    }
+
+    @Test
+    public void testInterning() {
+        AnnotationFactory factory = AnnotationFactory.interning(AnnotationFactory.generated(), 2);
+        Map<String, Object> elementsMap = idColumn();
+        elementsMap.put("aliases", new String[] { "key" });
+
+        Column column = factory.createAnnotation(Column.class, elementsMap);
+
+        // Explicit default values are normalized
+        Map<String, Object> sameElementsMap = idColumn();
+        sameElementsMap.put("aliases", new String[] { "key" });
+        sameElementsMap.put("length", 255);
+
+        assertSame(column, factory.createAnnotation(Column.class, sameElementsMap));
+
+        // Modifying the passed array must not affect the interned annotation
+        ((String[]) elementsMap.get("aliases"))[0] = "other";
+        assertArrayEquals(new String[] { "key" }, column.aliases());
+
+        assertNotSame(column, factory.createAnnotation(Column.class, idColumn()));
+    }
+}
@@ -0,0 +1,109 @@
+package me.hugmanrique.annotated.metrics;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.transformer.AnnotationOverride;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class TransformMetricsTest {
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Measured {
+        String value();
+    }
+
+    private static class Target {
+        int value;
+    }
+
+    @After
+    public void resetListener() {
+        Annotated.setTransformListener(TransformListener.noop());
+    }
+
+    @Test
+    public void testCounters() throws NoSuchFieldException {
+        TransformMetrics metrics = new TransformMetrics();
+        Annotated.setTransformListener(metrics);
+        Field field = Target.class.getDeclaredField("value");
+
+        Annotated.clazz().addAnnotation(Target.class, Measured.class, Collections.singletonMap("value", "first"));
+        Annotated.clazz().addAnnotation(Target.class, Measured.class, Collections.singletonMap("value", "second"));
+        Annotated.field().addAnnotation(field, Measured.class, Collections.singletonMap("value", "field"));
+        assertNotNull(Annotated.clazz().removeAnnotation(Target.class, Measured.class));
+        assertNotNull(Annotated.field().removeAnnotation(field, Measured.class));
+
+        assertEquals(5, metrics.getEdits());
+        assertEquals(3, metrics.getAddedAnnotations()); // The second edit replaces the annotation
+        assertEquals(2, metrics.getRemovedAnnotations());
+        assertEquals(3, metrics.getCreatedAnnotations());
+        assertEquals(0, metrics.getCasRetries());
+        assertEquals(5, metrics.getEditLatencies().getCount());
+        assertTrue(metrics.getP99EditNanos() >= metrics.getMedianEditNanos());
+        assertTrue(metrics.getMaxEditNanos() >= metrics.getP99EditNanos());
+
+        metrics.reset();
+        assertEquals(0, metrics.getEdits());
+    }
+
+    @Test
+    public void testFailingListener() throws Exception {
+        List<Throwable> failures = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        Field field = Target.class.getDeclaredField("value");
+
+        Annotated.setTransformListener(new TransformListener() {
+            @Override
+            public void annotationsEdited(AnnotatedElement element, int added, int removed, int retries, long durationNanos) {
+                throw new IllegalStateException();
+            }
+        });
+        thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+
+        try {
+            // The edits were published, so they must not fail
+            Measured measured = Annotated.annotationFactory().createAnnotation(Measured.class, Collections.singletonMap("value", "override"));
+
+            try (AnnotationOverride<Class<?>> override = Annotated.clazz().override(Target.class, measured)) {
+                assertSame(measured, Target.class.getAnnotation(Measured.class));
+            }
+
+            Annotated.field().addAnnotation(field, Measured.class, Collections.singletonMap("value", "field"));
+            assertNotNull(Annotated.field().removeAnnotation(field, Measured.class));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertNull(Target.class.getAnnotation(Measured.class));
+        assertNull(field.getAnnotation(Measured.class));
+        assertEquals(4, failures.size());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(505, histogram.getMean(), 0);
+        assertEquals(1000, histogram.getMax());
+        assertEquals(511, histogram.getPercentile(0.5)); // Bucket [256, 512)
+        assertEquals(1000, histogram.getPercentile(1)); // Bounded by the maximum
+    }
+}
@@ -0,0 +1,146 @@
+package me.hugmanrique.annotated.overlay;
+
+import me.hugmanrique.annotated.Annotated;
+import me.hugmanrique.annotated.event.AnnotationChange;
+import me.hugmanrique.annotated.event.AnnotationChangeListener;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class AnnotationOverlayTest {
+    private static final String PREFIX = "me.hugmanrique.annotated.overlay.AnnotationOverlayTest$";
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.CONSTRUCTOR})
+    @interface Cached {
+        long ttl();
+        TimeUnit unit() default TimeUnit.SECONDS;
+        String[] tags() default {};
+        Class<?> type() default Object.class;
+        char separator() default ',';
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+    @interface Named {
+        String value();
+    }
+
+    @Named("original")
+    public static class Service {
+        public String name;
+
+        public Service(int id, long[] values) {}
+
+        public void find(String query, int limit) {}
+    }
+
+    private static AnnotationOverlay parse(String... lines) throws IOException {
+        return AnnotationOverlay.parse(new StringReader(String.join("\n", lines)));
+    }
+
+    @Test
+    public void testApply() throws Exception {
+        AnnotationOverlay overlay = parse(
+            "# Service overlay",
+            "",
+            PREFIX + "Service  @" + PREFIX + "Cached(ttl = 60L, unit = MINUTES, tags = {\"a\", \"b\\\"c\"}, type = java.lang.String[].class)",
+            PREFIX + "Service -@" + PREFIX + "Named # Remove the original",
+            PREFIX + "Service#name @" + PREFIX + "Named(\"name\")",
+            PREFIX + "Service#find(java.lang.String, int) @" + PREFIX + "Cached(ttl = 0x10, separator = ';')",
+            PREFIX + "Service#<init>(int,long[]) @" + PREFIX + "Cached(ttl = -1, tags = \"single\")"
+        );
+        OverlayApplier applier = new OverlayApplier(getClass().getClassLoader());
+
+        assertEquals(4, applier.apply(overlay).size());
+
+        Cached cached = Service.class.getAnnotation(Cached.class);
+        assertEquals(60, cached.ttl());
+        assertEquals(TimeUnit.MINUTES, cached.unit());
+        assertArrayEquals(new String[] { "a", "b\"c" }, cached.tags());
+        assertEquals(String[].class, cached.type());
+        assertNull(Service.class.getAnnotation(Named.class));
+
+        assertEquals("name", Service.class.getField("name").getAnnotation(Named.class).value());
+
+        Cached methodCached = Service.class.getMethod("find", String.class, int.class).getAnnotation(Cached.class);
+        assertEquals(16, methodCached.ttl());
+        assertEquals(';', methodCached.separator());
+
+        Cached constructorCached = Service.class.getConstructor(int.class, long[].class).getAnnotation(Cached.class);
+        assertEquals(-1, constructorCached.ttl());
+        assertArrayEquals(new String[] { "single" }, constructorCached.tags());
+
+        // Reload with a single changed element
+        AnnotationOverlay reloaded = parse(
+            PREFIX + "Service  @" + PREFIX + "Cached(ttl = 60L, unit = MINUTES, tags = {\"a\", \"b\\\"c\"}, type = java.lang.String[].class)",
+            PREFIX + "Service -@" + PREFIX + "Named",
+            PREFIX + "Service#name @" + PREFIX + "Named(\"renamed\")",
+            PREFIX + "Service#find(java.lang.String,int) @" + PREFIX + "Cached(ttl = 0x10, separator = ';')"
+        );
+
+        List<AnnotationChange> changes = new ArrayList<>();
+        AnnotationChangeListener listener = changes::addAll;
+        Annotated.addChangeListener(listener);
+
+        try {
+            assertEquals(new HashSet<>(Arrays.asList(PREFIX + "Service#name", PREFIX + "Service#<init>(int,long[])")), applier.apply(reloaded));
+        } finally {
+            Annotated.removeChangeListener(listener);
+        }
+
+        // Each changed element is edited once, without briefly reverting its annotations
+        assertEquals(2, changes.size());
+        assertEquals(Service.class.getField("name"), changes.get(0).getElement());
+        assertEquals(AnnotationChange.Type.REPLACED, changes.get(0).getType());
+        assertEquals(AnnotationChange.Type.REMOVED, changes.get(1).getType());
+        assertSame("Unchanged elements must not be edited", cached, Service.class.getAnnotation(Cached.class));
+        assertEquals("renamed", Service.class.getField("name").getAnnotation(Named.class).value());
+        assertNull(Service.class.getConstructor(int.class, long[].class).getAnnotation(Cached.class));
+
+        applier.clear();
+        assertNull(Service.class.getAnnotation(Cached.class));
+        assertEquals("original", Service.class.getAnnotation(Named.class).value());
+        assertNull(Service.class.getField("name").getAnnotation(Named.class));
+    }
+
+    @Test
+    public void testInvalidOverlay() throws Exception {
+        try {
+            parse(PREFIX + "Service @" + PREFIX + "Named(\"unterminated)");
+            fail("Unterminated strings must be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Line 1"));
+        }
+
+        OverlayApplier applier = new OverlayApplier(getClass().getClassLoader());
+        AnnotationOverlay overlay = parse(
+            PREFIX + "Service#name @" + PREFIX + "Named(\"name\")",
+            PREFIX + "Service#missing @" + PREFIX + "Named(\"missing\")"
+        );
+
+        try {
+            applier.apply(overlay);
+            fail("Unknown elements must be rejected");
+        } catch (IllegalArgumentException expected) {}
+
+        assertNull("Invalid overlays must not be partially applied", Service.class.getField("name").getAnnotation(Named.class));
+        assertEquals(Collections.emptySet(), applier.getCurrent().getElements());
+    }
+}
@@ -0,0 +1,93 @@
+package me.hugmanrique.annotated.rewrite;
+
+import me.hugmanrique.annotated.factory.AnnotationFactory;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class AnnotationRewriterTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @interface Managed {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface Legacy {}
+
+    @Legacy
+    static class First {}
+
+    @Legacy
+    static class Second {
+        public void run() {}
+    }
+
+    static class Third {}
+
+    @Legacy
+    static class Fourth {}
+
+    @Test
+    public void testRewrite() {
+        Managed managed = AnnotationFactory.proxy().createAnnotation(Managed.class, Collections.emptyMap());
+        List<RewriteRule> rules = Arrays.asList(
+            RewriteRule.addClassAnnotation(RewriteRule.inPackage("me.hugmanrique.annotated.rewrite"), managed),
+            RewriteRule.removeClassAnnotation(clazz -> true, Legacy.class),
+            RewriteRule.addExecutableAnnotation(clazz -> clazz == Second.class, method -> method.getName().equals("run"), managed)
+        );
+
+        List<Class<?>> classes = Arrays.asList(First.class, Second.class, Third.class, String.class);
+        List<RewriteResult> results = new AnnotationRewriter(rules).rewrite(classes);
+
+        assertEquals(classes.size(), results.size());
+
+        for (int i = 0; i < classes.size(); i++) {
+            RewriteResult result = results.get(i);
+
+            assertSame(classes.get(i), result.getTargetClass());
+            assertTrue(result.isSuccessful());
+        }
+
+        assertEquals(1, results.get(0).getAddedAnnotations());
+        assertEquals(1, results.get(0).getRemovedAnnotations());
+        assertEquals(2, results.get(1).getAddedAnnotations());
+        assertEquals(0, results.get(2).getRemovedAnnotations());
+        assertEquals(0, results.get(3).getAddedAnnotations());
+
+        for (Class<?> clazz : Arrays.asList(First.class, Second.class, Third.class)) {
+            assertNotNull(clazz.getAnnotation(Managed.class));
+            assertNull(clazz.getAnnotation(Legacy.class));
+        }
+
+        assertNull(String.class.getAnnotation(Managed.class));
+    }
+
+    @Test
+    public void testRuleOrder() {
+        Managed managed = AnnotationFactory.proxy().createAnnotation(Managed.class, Collections.emptyMap());
+        List<RewriteRule> rules = Arrays.asList(
+            RewriteRule.addClassAnnotation(clazz -> true, managed),
+            RewriteRule.removeClassAnnotation(clazz -> true, Managed.class),
+            RewriteRule.removeClassAnnotation(clazz -> true, Legacy.class),
+            RewriteRule.removeClassAnnotation(clazz -> true, Legacy.class)
+        );
+
+        RewriteResult result = new AnnotationRewriter(rules).rewrite(Collections.singletonList(Fourth.class)).get(0);
+
+        assertTrue(result.isSuccessful());
+        assertNull("Later rules must win", Fourth.class.getAnnotation(Managed.class));
+        assertNull(Fourth.class.getAnnotation(Legacy.class));
+        assertEquals(0, result.getAddedAnnotations());
+        assertEquals(1, result.getRemovedAnnotations());
+    }
+}
@@ -0,0 +1,165 @@
+package me.hugmanrique.annotated.transformer;
+
+import me.hugmanrique.annotated.AnnotationArrayMap;
+import me.hugmanrique.annotated.AnnotationMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class EditCombinerTest {
+    private static final int THREADS = 8;
+    private static final int EDITS = 500;
+
+    @Test
+    public void testConcurrentEdits() throws Exception {
+        AnnotationMap initial = new AnnotationMap(AnnotationArrayMap.empty(), AnnotationArrayMap.empty());
+        AtomicReference<AnnotationMap> current = new AtomicReference<>(initial);
+
+        EditCombiner<Object> combiner = new EditCombiner<>((element, function, notifications) -> {
+            AnnotationMap previous = current.get();
+            AnnotationMap next = function.apply(previous);
+
+            assertTrue("Edits of the same element must not overlap", current.compareAndSet(previous, next));
+            return new AnnotationMap[] { previous, next };
+        });
+
+        Object element = new Object();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<AnnotationMap[]>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                List<AnnotationMap[]> results = new ArrayList<>();
+                start.await();
+
+                for (int j = 0; j < EDITS; j++) {
+                    results.add(combiner.apply(element, map -> new AnnotationMap(map.getAnnotations(), map.getDeclaredAnnotations())));
+                }
+
+                return results;
+            }));
+        }
+
+        start.countDown();
+
+        // Every edit must start from the map installed by exactly one other edit
+        Map<AnnotationMap, AnnotationMap> successors = new IdentityHashMap<>();
+
+        for (Future<List<AnnotationMap[]>> future : futures) {
+            for (AnnotationMap[] maps : future.get(30, TimeUnit.SECONDS)) {
+                assertNull("Edits must be applied in sequence", successors.put(maps[0], maps[1]));
+            }
+        }
+
+        executor.shutdown();
+
+        AnnotationMap map = initial;
+        int count = 0;
+
+        while ((map = successors.get(map)) != null) {
+            count++;
+        }
+
+        assertEquals(THREADS * EDITS, count);
+    }
+
+    @Test
+    public void testFailedEdit() {
+        AnnotationMap initial = new AnnotationMap(AnnotationArrayMap.empty(), AnnotationArrayMap.empty());
+        EditCombiner<Object> combiner = new EditCombiner<>((element, function, notifications) -> new AnnotationMap[] { initial, function.apply(initial) });
+
+        try {
+            combiner.apply(new Object(), map -> {
+                throw new IllegalArgumentException();
+            });
+            fail("The edit exception must be rethrown");
+        } catch (IllegalArgumentException ignored) {}
+
+        AnnotationMap[] maps = combiner.apply(new Object(), map -> map);
+        assertSame(initial, maps[0]);
+    }
+
+    @Test
+    public void testFailedNotification() throws Exception {
+        AnnotationMap initial = new AnnotationMap(AnnotationArrayMap.empty(), AnnotationArrayMap.empty());
+        AtomicBoolean notified = new AtomicBoolean();
+        AtomicReference<Throwable> handled = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        EditCombiner<Object> combiner = new EditCombiner<>((element, function, notifications) -> {
+            notifications.add(() -> {
+                throw new IllegalStateException();
+            });
+            notifications.add(() -> notified.set(true));
+
+            return new AnnotationMap[] { initial, function.apply(initial) };
+        });
+
+        // The edit was published, so the exception goes to the handler without skipping the next notifications
+        Thread thread = new Thread(() -> {
+            try {
+                combiner.apply(new Object(), map -> map);
+            } catch (Throwable throwable) {
+                failure.set(throwable);
+            }
+        });
+        thread.setUncaughtExceptionHandler((t, e) -> handled.set(e));
+        thread.start();
+        thread.join();
+
+        assertNull(failure.get());
+        assertTrue(notified.get());
+        assertTrue(handled.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testNotificationsRunUnlocked() throws Exception {
+        AnnotationMap initial = new AnnotationMap(AnnotationArrayMap.empty(), AnnotationArrayMap.empty());
+        Object element = new Object();
+        AtomicReference<EditCombiner<Object>> combiner = new AtomicReference<>();
+        AtomicReference<Throwable> nestedFailure = new AtomicReference<>();
+        AtomicBoolean nested = new AtomicBoolean();
+
+        combiner.set(new EditCombiner<>((edited, function, notifications) -> {
+            AnnotationMap installed = function.apply(initial);
+
+            if (nested.compareAndSet(false, true)) {
+                // Edits the same element from another thread, which would block forever under the stripe lock
+                notifications.add(() -> {
+                    Thread thread = new Thread(() -> combiner.get().apply(element, map -> map));
+                    thread.setUncaughtExceptionHandler((t, e) -> nestedFailure.set(e));
+                    thread.start();
+
+                    try {
+                        thread.join(10_000);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+
+                    assertFalse("Notifications must run outside the stripe lock", thread.isAlive());
+                });
+            }
+
+            return new AnnotationMap[] { initial, installed };
+        }));
+
+        combiner.get().apply(element, map -> map);
+        assertNull(nestedFailure.get());
+    }
+}
@@ -0,0 +1,148 @@
+package me.hugmanrique.annotated.maven;
+
+import me.hugmanrique.annotated.bytecode.AnnotationRules;
+import me.hugmanrique.annotated.bytecode.ClassFileRewriter;
+import me.hugmanrique.annotated.bytecode.ClassRules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Applies annotation rules to a directory of class files, keeping track of the rewritten classes
+ * between runs. The original class files are kept aside, so classes can be rewritten again when
+ * their rules change, or restored when their rules are removed, without recompiling them.
+ *
+ * @author agent
+ */
+final class IncrementalRewriter {
+    private static final String STATE_FILE = "rewrite-state.properties";
+    private static final String ORIGINALS_DIRECTORY = "originals";
+
+    private final Path classesDirectory;
+    private final Path stateDirectory;
+    private final AnnotationRules rules;
+
+    IncrementalRewriter(Path classesDirectory, Path stateDirectory, AnnotationRules rules) {
+        this.classesDirectory = classesDirectory;
+        this.stateDirectory = stateDirectory;
+        this.rules = rules;
+    }
+
+    Result run() throws IOException {
+        Properties state = loadState(); // Class name -> rules digest and rewritten class file digest
+        Properties newState = new Properties();
+        ClassFileRewriter rewriter = new ClassFileRewriter(rules);
+        Set<String> classNames = new TreeSet<>(rules.getClassNames());
+        Result result = new Result();
+
+        classNames.addAll(state.stringPropertyNames());
+
+        for (String className : classNames) {
+            String relativePath = className.replace('.', '/') + ".class";
+            Path classFile = classesDirectory.resolve(relativePath);
+            Path originalFile = stateDirectory.resolve(ORIGINALS_DIRECTORY).resolve(relativePath);
+            ClassRules classRules = rules.get(className);
+
+            if (!Files.isRegularFile(classFile)) {
+                // Deleted, or declared by another module
+                Files.deleteIfExists(originalFile);
+                continue;
+            }
+
+            byte[] current = Files.readAllBytes(classFile);
+            String[] previous = state.containsKey(className) ? state.getProperty(className).split(" ") : null;
+            // The class file wasn't recompiled since we last rewrote it
+            boolean rewrittenBefore = previous != null && previous[1].equals(digest(current));
+            String rulesDigest = classRules != null ? classRules.digest() : null;
+
+            if (rewrittenBefore && previous[0].equals(rulesDigest)) {
+                newState.setProperty(className, state.getProperty(className));
+                result.skipped++;
+                continue;
+            }
+
+            byte[] source = rewrittenBefore ? Files.readAllBytes(originalFile) : current;
+
+            if (classRules == null) {
+                if (rewrittenBefore) {
+                    Files.write(classFile, source);
+                    result.restored++;
+                }
+
+                Files.deleteIfExists(originalFile);
+                continue;
+            }
+
+            if (!rewrittenBefore) {
+                Files.createDirectories(originalFile.getParent());
+                Files.write(originalFile, current);
+            }
+
+            byte[] rewritten = rewriter.rewrite(source);
+            byte[] output = rewritten != null ? rewritten : source;
+
+            if (!Arrays.equals(output, current)) {
+                Files.write(classFile, output);
+            }
+
+            newState.setProperty(className, rulesDigest + ' ' + digest(output));
+            result.rewritten++;
+        }
+
+        saveState(newState);
+        return result;
+    }
+
+    private Properties loadState() throws IOException {
+        Properties state = new Properties();
+        Path stateFile = stateDirectory.resolve(STATE_FILE);
+
+        if (Files.isRegularFile(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                state.load(in);
+            }
+        }
+
+        return state;
+    }
+
+    private void saveState(Properties state) throws IOException {
+        Files.createDirectories(stateDirectory);
+
+        try (OutputStream out = Files.newOutputStream(stateDirectory.resolve(STATE_FILE))) {
+            state.store(out, "Annotated rewrite state");
+        }
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class Result {
+        private int rewritten;
+        private int restored;
+        private int skipped;
+
+        int getRewritten() {
+            return rewritten;
+        }
+
+        int getRestored() {
+            return restored;
+        }
+
+        int getSkipped() {
+            return skipped;
+        }
+    }
+}
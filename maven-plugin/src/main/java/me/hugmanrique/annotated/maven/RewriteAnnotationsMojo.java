@@ -0,0 +1,107 @@
+package me.hugmanrique.annotated.maven;
+
+import me.hugmanrique.annotated.bytecode.AnnotationRuleProvider;
+import me.hugmanrique.annotated.bytecode.AnnotationRules;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Applies the annotation rules registered by {@link AnnotationRuleProvider}s to the compiled
+ * classes of the project. Providers are discovered with {@link ServiceLoader} on the project
+ * class path, or listed in the {@code providers} parameter. Only the classes with rules that were
+ * recompiled or whose rules changed since the last build are rewritten.
+ *
+ * @author agent
+ */
+@Mojo(name = "rewrite", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+    requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class RewriteAnnotationsMojo extends AbstractMojo {
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/annotated", required = true)
+    private File stateDirectory;
+
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true, required = true)
+    private List<String> classpathElements;
+
+    /**
+     * Class names of the rule providers to use in addition to the ones found with {@link ServiceLoader}.
+     */
+    @Parameter
+    private List<String> providers = new ArrayList<>();
+
+    @Parameter(property = "annotated.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping annotation rewriting");
+            return;
+        }
+
+        if (!classesDirectory.isDirectory()) {
+            getLog().debug("No classes to rewrite in " + classesDirectory);
+            return;
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(toUrls(classpathElements), getClass().getClassLoader())) {
+            AnnotationRules rules = new AnnotationRules();
+
+            for (AnnotationRuleProvider provider : loadProviders(loader)) {
+                provider.registerRules(rules);
+            }
+
+            IncrementalRewriter.Result result = new IncrementalRewriter(classesDirectory.toPath(), stateDirectory.toPath(), rules).run();
+
+            getLog().info("Rewrote " + result.getRewritten() + " classes, restored " + result.getRestored()
+                + " and skipped " + result.getSkipped() + " unchanged classes");
+        } catch (IOException | RuntimeException e) {
+            throw new MojoExecutionException("Cannot rewrite annotations", e);
+        }
+    }
+
+    private List<AnnotationRuleProvider> loadProviders(ClassLoader loader) throws MojoExecutionException {
+        List<AnnotationRuleProvider> loaded = new ArrayList<>();
+
+        for (AnnotationRuleProvider provider : ServiceLoader.load(AnnotationRuleProvider.class, loader)) {
+            loaded.add(provider);
+        }
+
+        for (String className : providers) {
+            try {
+                Class<?> providerClass = Class.forName(className, true, loader);
+
+                loaded.add(providerClass.asSubclass(AnnotationRuleProvider.class).getConstructor().newInstance());
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new MojoExecutionException("Cannot create rule provider " + className, e);
+            }
+        }
+
+        return loaded;
+    }
+
+    private static URL[] toUrls(List<String> elements) throws MalformedURLException {
+        URL[] urls = new URL[elements.size()];
+
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new File(elements.get(i)).toURI().toURL();
+        }
+
+        return urls;
+    }
+}
@@ -0,0 +1,89 @@
+package me.hugmanrique.annotated.maven;
+
+import me.hugmanrique.annotated.bytecode.AnnotationRules;
+import me.hugmanrique.annotated.bytecode.ClassFileRewriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class IncrementalRewriterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+        String value();
+    }
+
+    public static class Subject {}
+
+    @Test
+    public void testIncremental() throws IOException {
+        Path classes = folder.newFolder("classes").toPath();
+        Path state = folder.getRoot().toPath().resolve("state");
+        Path classFile = classes.resolve(Subject.class.getName().replace('.', '/') + ".class");
+        byte[] original = copyClassFile(Subject.class, classFile);
+
+        // First build rewrites the class
+        AnnotationRules rules = rules("first");
+        assertResult(new IncrementalRewriter(classes, state, rules).run(), 1, 0, 0);
+        byte[] rewritten = Files.readAllBytes(classFile);
+        assertFalse(Arrays.equals(original, rewritten));
+
+        // Nothing changed
+        assertResult(new IncrementalRewriter(classes, state, rules("first")).run(), 0, 0, 1);
+        assertArrayEquals(rewritten, Files.readAllBytes(classFile));
+
+        // Changed rules are applied to the original class file
+        assertResult(new IncrementalRewriter(classes, state, rules("second")).run(), 1, 0, 0);
+        byte[] second = Files.readAllBytes(classFile);
+        assertFalse(Arrays.equals(rewritten, second));
+        assertArrayEquals(new ClassFileRewriter(rules("second")).rewrite(original), second);
+
+        // Recompiled class files are rewritten again
+        Files.write(classFile, original);
+        assertResult(new IncrementalRewriter(classes, state, rules("second")).run(), 1, 0, 0);
+        assertArrayEquals(second, Files.readAllBytes(classFile));
+
+        // Removed rules restore the original class file
+        assertResult(new IncrementalRewriter(classes, state, new AnnotationRules()).run(), 0, 1, 0);
+        assertArrayEquals(original, Files.readAllBytes(classFile));
+    }
+
+    private static AnnotationRules rules(String value) {
+        AnnotationRules rules = new AnnotationRules();
+        rules.forClass(Subject.class.getName()).addAnnotation(Marker.class, Collections.singletonMap("value", value));
+
+        return rules;
+    }
+
+    private static byte[] copyClassFile(Class<?> clazz, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+
+        try (InputStream in = clazz.getResourceAsStream(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class")) {
+            Files.copy(in, target);
+        }
+
+        return Files.readAllBytes(target);
+    }
+
+    private static void assertResult(IncrementalRewriter.Result result, int rewritten, int restored, int skipped) {
+        assertEquals("rewritten", rewritten, result.getRewritten());
+        assertEquals("restored", restored, result.getRestored());
+        assertEquals("skipped", skipped, result.getSkipped());
+    }
+}